@@ -0,0 +1,54 @@
+package de.fungate.translate.benchmarks;
+
+import de.fungate.translate.core.services.Curler;
+import fj.data.Either;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Curler answering every request with the same recorded page from the test resources, without any I/O.
+ * Benchmarks thereby measure nothing but the parsing of the translators.
+ */
+public class FixtureCurler implements Curler {
+
+    private final byte[] page;
+    private final String content;
+
+    /**
+     * @param fixture path of the recorded page below src/test/resources, e.g. "dictcc/wandDE.html".
+     */
+    public FixtureCurler(String fixture) {
+        try (InputStream in = FixtureCurler.class.getResourceAsStream("/" + fixture)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No such fixture: " + fixture);
+            }
+            this.page = IOUtils.toByteArray(in);
+            this.content = new String(page, "UTF-8");
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read fixture: " + fixture, e);
+        }
+    }
+
+    @Override
+    public Either<String, Exception> get(String url) {
+        return Either.left(content);
+    }
+
+    @Override
+    public Either<String, Exception> get(String url, int timeoutMillis) {
+        return Either.left(content);
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url) {
+        return Either.left((InputStream) new ByteArrayInputStream(page));
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url, int timeoutMillis) {
+        return getStream(url);
+    }
+}
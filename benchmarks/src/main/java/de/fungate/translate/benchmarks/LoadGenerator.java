@@ -0,0 +1,161 @@
+package de.fungate.translate.benchmarks;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.StagedTranslator;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.curlers.ApacheHTTPCurler;
+import de.fungate.translate.core.services.curlers.RecordingCurler;
+import de.fungate.translate.core.services.curlers.RecordingStore;
+import de.fungate.translate.core.services.metrics.Histogram;
+import de.fungate.translate.core.services.metrics.MetricsExporter;
+import de.fungate.translate.core.services.metrics.ProviderMetrics;
+import de.fungate.translate.core.services.metrics.TranslationMetrics;
+import de.fungate.translate.core.services.translators.DictccTranslator;
+import de.fungate.translate.core.services.translators.GoogleTranslator;
+import de.fungate.translate.core.services.translators.LeoTranslator;
+import de.fungate.translate.core.services.translators.PonsTranslator;
+import de.fungate.translate.core.services.translators.WoerterbuchTranslator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: drives the translators over real HTTP against a local ReplayServer and reports throughput
+ * and latency percentiles, overall and split into fetch and parse per provider.
+ * Usage: LoadGenerator [seconds] [threads] [baseLatencyMillis] [meanJitterMillis] [errorRate] [recordingsDir]
+ * Without recordingsDir, the recorded pages of src/test/resources are served. To replay real traffic, record it
+ * with a RecordingCurler around the ApacheHTTPCurler and pass its directory.
+ * Run with: sbt "benchmarks/runMain de.fungate.translate.benchmarks.LoadGenerator 30 16 20 10 0.01"
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long baseLatencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        double meanJitterMillis = args.length > 3 ? Double.parseDouble(args[3]) : 10;
+        double errorRate = args.length > 4 ? Double.parseDouble(args[4]) : 0.01;
+        // keep logging of the translators out of the measurement
+        Logger.getRootLogger().setLevel(Level.WARN);
+
+        RecordingStore store = args.length > 5 ? new RecordingStore(new File(args[5])) : recordFixtures();
+        ReplayServer server = new ReplayServer(store, baseLatencyMillis, meanJitterMillis, errorRate);
+        String baseUrl = server.start(threads);
+        try {
+            TranslationMetrics metrics = new TranslationMetrics(true);
+            run(workload(metrics, baseUrl), threads, seconds, metrics);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void run(final List<Request> workload, int threads, int seconds, TranslationMetrics metrics)
+            throws InterruptedException {
+        final Histogram latency = new Histogram();
+        final AtomicLong empty = new AtomicLong();
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = offset; System.nanoTime() < end; i++) {
+                        Request request = workload.get(i % workload.size());
+                        long start = System.nanoTime();
+                        boolean found = !request.translator.translate(request.term, request.source).isEmpty();
+                        latency.record(System.nanoTime() - start);
+                        if (!found) {
+                            empty.incrementAndGet();
+                        }
+                    }
+                }
+            }, "load-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%d requests in %ds with %d threads: %.1f req/s, %d empty",
+                latency.getCount(), seconds, threads, latency.getCount() / (double) seconds, empty.get()));
+        print("end-to-end ms", latency, 1e6);
+        metrics.export(new MetricsExporter() {
+            @Override
+            public void export(Collection<ProviderMetrics> providers) {
+                for (ProviderMetrics m : providers) {
+                    print(m.getProvider() + " fetch ms", m.getFetchNanos(), 1e6);
+                    print(m.getProvider() + " parse ms", m.getParseNanos(), 1e6);
+                }
+            }
+        });
+    }
+
+    private static void print(String name, Histogram h, double scale) {
+        System.out.println(String.format(Locale.ROOT, "%-28s n=%-7d p50=%9.3f p99=%9.3f p999=%9.3f max=%9.3f",
+                name, h.getCount(),
+                h.getValueAtPercentile(50) / scale,
+                h.getValueAtPercentile(99) / scale,
+                h.getValueAtPercentile(99.9) / scale,
+                h.getMax() / scale));
+    }
+
+    /**
+     * Records the fixture pages under the URLs the translators request for the fixture terms.
+     */
+    private static RecordingStore recordFixtures() throws IOException {
+        RecordingStore store = new RecordingStore(Files.createTempDirectory("replay").toFile());
+        new DictccTranslator(recording("dictcc/wandDE.html", store)).translate("wand", SourceLanguage.GERMAN);
+        new LeoTranslator(recording("leo/therefore.xml", store)).translate("therefore", SourceLanguage.ENGLISH);
+        new PonsTranslator(recording("pons/wand.html", store)).translate("wand", SourceLanguage.GERMAN);
+        new GoogleTranslator(recording("google/wand_de", store)).translate("wand", SourceLanguage.GERMAN);
+        new WoerterbuchTranslator(recording("woerterbuch/wand.html", store)).translate("wand", SourceLanguage.GERMAN);
+        return store;
+    }
+
+    private static Curler recording(String fixture, RecordingStore store) {
+        return new RecordingCurler(new FixtureCurler(fixture), store);
+    }
+
+    private static List<Request> workload(TranslationMetrics metrics, String baseUrl) {
+        List<Request> workload = new ArrayList<>();
+        workload.add(new Request(metrics.instrument(new DictccTranslator(
+                curler(metrics, baseUrl, "dict.cc"))), "wand", SourceLanguage.GERMAN));
+        workload.add(new Request(metrics.instrument(new LeoTranslator(
+                curler(metrics, baseUrl, "leo.org"))), "therefore", SourceLanguage.ENGLISH));
+        workload.add(new Request(metrics.instrument(new PonsTranslator(
+                curler(metrics, baseUrl, "pons.eu"))), "wand", SourceLanguage.GERMAN));
+        workload.add(new Request(metrics.instrument(new GoogleTranslator(
+                curler(metrics, baseUrl, "translate.google.de"))), "wand", SourceLanguage.GERMAN));
+        workload.add(new Request(metrics.instrument(new WoerterbuchTranslator(
+                curler(metrics, baseUrl, "woerterbuch.info"))), "wand", SourceLanguage.GERMAN));
+        return workload;
+    }
+
+    private static Curler curler(TranslationMetrics metrics, String baseUrl, String provider) {
+        return metrics.instrument(new RedirectingCurler(new ApacheHTTPCurler(), baseUrl), provider);
+    }
+
+    private static class Request {
+        private final Translator translator;
+        private final String term;
+        private final SourceLanguage source;
+
+        private Request(StagedTranslator<?> translator, String term, SourceLanguage source) {
+            this.translator = translator;
+            this.term = term;
+            this.source = source;
+        }
+    }
+}
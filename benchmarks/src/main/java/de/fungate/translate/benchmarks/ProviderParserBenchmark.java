@@ -0,0 +1,88 @@
+package de.fungate.translate.benchmarks;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.synonymproviders.Woxikon;
+import de.fungate.translate.core.services.translators.DictccTranslator;
+import de.fungate.translate.core.services.translators.GoogleTranslator;
+import de.fungate.translate.core.services.translators.LeoTranslator;
+import de.fungate.translate.core.services.translators.PonsTranslator;
+import de.fungate.translate.core.services.translators.WoerterbuchTranslator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast each provider turns a recorded page into translations. The pages are served by a FixtureCurler,
+ * so no network is involved. Run with the GC profiler to get the allocation rate per parse:
+ * sbt "benchmarks/jmh:run -prof gc .*ProviderParserBenchmark.*"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProviderParserBenchmark {
+
+    private DictccTranslator dictcc;
+    private LeoTranslator leo;
+    private PonsTranslator pons;
+    private GoogleTranslator google;
+    private WoerterbuchTranslator woerterbuch;
+    private Woxikon woxikon;
+
+    @Setup
+    public void setUp() {
+        // keep logging of the translators out of the measurement
+        Logger.getRootLogger().setLevel(Level.WARN);
+        dictcc = new DictccTranslator(new FixtureCurler("dictcc/wandDE.html"));
+        leo = new LeoTranslator(new FixtureCurler("leo/therefore.xml"));
+        pons = new PonsTranslator(new FixtureCurler("pons/wand.html"));
+        google = new GoogleTranslator(new FixtureCurler("google/wand_de"));
+        woerterbuch = new WoerterbuchTranslator(new FixtureCurler("woerterbuch/wand.html"));
+        woxikon = new Woxikon(new FixtureCurler("woxikon/zoom.html"));
+    }
+
+    @Benchmark
+    public Set<Translation> dictcc() {
+        return dictcc.translate("wand", SourceLanguage.GERMAN);
+    }
+
+    @Benchmark
+    public Set<Translation> leo() {
+        return leo.translate("therefore", SourceLanguage.ENGLISH);
+    }
+
+    @Benchmark
+    public Set<Translation> pons() {
+        return pons.translate("wand", SourceLanguage.GERMAN);
+    }
+
+    @Benchmark
+    public Set<Translation> google() {
+        return google.translate("wand", SourceLanguage.GERMAN);
+    }
+
+    @Benchmark
+    public Set<Translation> woerterbuch() {
+        return woerterbuch.translate("wand", SourceLanguage.GERMAN);
+    }
+
+    @Benchmark
+    public Set<String> woxikon() {
+        return woxikon.getSynonyms("zoom", SourceLanguage.ENGLISH);
+    }
+}
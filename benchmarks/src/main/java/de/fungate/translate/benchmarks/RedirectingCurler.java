@@ -0,0 +1,49 @@
+package de.fungate.translate.benchmarks;
+
+import de.fungate.translate.core.services.Curler;
+import fj.data.Either;
+
+import java.io.InputStream;
+
+/**
+ * Curler sending every request to a ReplayServer instead of the provider. "http://de-en.dict.cc/?s=wand" becomes
+ * "http://localhost:port/de-en.dict.cc/?s=wand", from which the server restores the original URL.
+ */
+public class RedirectingCurler implements Curler {
+
+    private final Curler curler;
+    private final String baseUrl;
+
+    /**
+     * @param curler to issue the redirected requests with.
+     * @param baseUrl of the ReplayServer, without a trailing slash.
+     */
+    public RedirectingCurler(Curler curler, String baseUrl) {
+        this.curler = curler;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public Either<String, Exception> get(String url) {
+        return curler.get(redirect(url));
+    }
+
+    @Override
+    public Either<String, Exception> get(String url, int timeoutMillis) {
+        return curler.get(redirect(url), timeoutMillis);
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url) {
+        return curler.getStream(redirect(url));
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url, int timeoutMillis) {
+        return curler.getStream(redirect(url), timeoutMillis);
+    }
+
+    private String redirect(String url) {
+        return baseUrl + "/" + url.substring(url.indexOf("://") + 3);
+    }
+}
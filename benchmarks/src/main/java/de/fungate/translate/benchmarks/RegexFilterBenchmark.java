@@ -0,0 +1,68 @@
+package de.fungate.translate.benchmarks;
+
+import de.fungate.translate.core.services.translators.DictccTranslator;
+import de.fungate.translate.core.services.translators.WoerterbuchTranslator;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the compiled Regexes compositions which run on every extracted term. One operation filters the whole
+ * corpus, which consists of the raw cell texts of the recorded dict.cc, woerterbuch.info and pons.eu pages.
+ * Guarded by RegressionGate, see the regexGate alias in build.sbt.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexFilterBenchmark {
+
+    private String[] corpus;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = RegexFilterBenchmark.class.getResourceAsStream("/regexes/corpus.txt")) {
+            @SuppressWarnings("unchecked")
+            List<String> lines = IOUtils.readLines(in, "UTF-8");
+            corpus = lines.toArray(new String[lines.size()]);
+        }
+    }
+
+    @Benchmark
+    public void dictccMatchGarbage(Blackhole bh) {
+        filter(DictccTranslator.MATCH_GARBAGE, bh);
+    }
+
+    @Benchmark
+    public void woerterbuchFilterEnglish(Blackhole bh) {
+        filter(WoerterbuchTranslator.FILTER_ENGLISH, bh);
+    }
+
+    @Benchmark
+    public void woerterbuchFilterGerman(Blackhole bh) {
+        filter(WoerterbuchTranslator.FILTER_GERMAN, bh);
+    }
+
+    private void filter(Pattern pattern, Blackhole bh) {
+        for (String term : corpus) {
+            bh.consume(pattern.matcher(term).replaceAll(""));
+        }
+    }
+}
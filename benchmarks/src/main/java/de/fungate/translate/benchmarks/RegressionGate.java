@@ -0,0 +1,120 @@
+package de.fungate.translate.benchmarks;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Compares the throughput scores of a JMH JSON result file against a stored baseline and exits with status 1 if any
+ * benchmark got slower than the allowed regression. Benchmarks without a baseline score are reported, but pass;
+ * baseline benchmarks without a result fail, so a renamed or deleted benchmark is not silently dropped from the gate.
+ * Usage: RegressionGate results.json baseline.properties maxRegression [--update]
+ * where maxRegression is a fraction, e.g. 0.25 to fail on a throughput loss of more than 25%.
+ * --update overwrites the baseline with the scores of the result file instead of comparing.
+ */
+public class RegressionGate {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: RegressionGate results.json baseline.properties maxRegression [--update]");
+            System.exit(2);
+        }
+        Map<String, Double> scores = readScores(args[0]);
+        if (args.length > 3 && args[3].equals("--update")) {
+            writeBaseline(args[1], scores);
+            System.out.println("Updated baseline " + args[1] + " with " + scores.size() + " scores");
+            return;
+        }
+        List<String> regressions = compare(scores, readBaseline(args[1]), Double.parseDouble(args[2]));
+        if (!regressions.isEmpty()) {
+            for (String r : regressions) {
+                System.err.println(r);
+            }
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @param scores measured throughput per benchmark.
+     * @param baseline throughput per benchmark.
+     * @param maxRegression allowed loss of throughput as a fraction of the baseline.
+     * @return a description of every benchmark which regressed beyond maxRegression or has no score.
+     */
+    public static List<String> compare(Map<String, Double> scores, Map<String, Double> baseline, double maxRegression) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            Double base = baseline.get(score.getKey());
+            if (base == null) {
+                System.out.println(String.format(Locale.ROOT, "%s: %.3f ops/ms (no baseline)",
+                        score.getKey(), score.getValue()));
+                continue;
+            }
+            double change = score.getValue() / base - 1;
+            String line = String.format(Locale.ROOT, "%s: %.3f ops/ms, baseline %.3f ops/ms (%+.1f%%)",
+                    score.getKey(), score.getValue(), base, change * 100);
+            if (change < -maxRegression) {
+                regressions.add("REGRESSION " + line);
+            } else {
+                System.out.println(line);
+            }
+        }
+        for (Map.Entry<String, Double> base : baseline.entrySet()) {
+            if (!scores.containsKey(base.getKey())) {
+                regressions.add(String.format(Locale.ROOT, "MISSING %s: baseline %.3f ops/ms, but no result",
+                        base.getKey(), base.getValue()));
+            }
+        }
+        return regressions;
+    }
+
+    private static Map<String, Double> readScores(String resultFile) throws IOException {
+        Map<String, Double> scores = new TreeMap<>();
+        try (Reader in = new InputStreamReader(new FileInputStream(resultFile), "UTF-8")) {
+            for (Object o : (JSONArray) JSONValue.parse(in)) {
+                JSONObject result = (JSONObject) o;
+                if (!"thrpt".equals(result.get("mode"))) {
+                    continue;
+                }
+                JSONObject primary = (JSONObject) result.get("primaryMetric");
+                scores.put((String) result.get("benchmark"), ((Number) primary.get("score")).doubleValue());
+            }
+        }
+        return scores;
+    }
+
+    private static Map<String, Double> readBaseline(String baselineFile) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(baselineFile)) {
+            properties.load(in);
+        }
+        Map<String, Double> baseline = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            baseline.put(name, Double.parseDouble(properties.getProperty(name)));
+        }
+        return baseline;
+    }
+
+    private static void writeBaseline(String baselineFile, Map<String, Double> scores) throws IOException {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            properties.setProperty(score.getKey(), String.format(Locale.ROOT, "%.3f", score.getValue()));
+        }
+        try (OutputStream out = new FileOutputStream(baselineFile)) {
+            properties.store(out, "Throughput baseline in ops/ms, machine dependent. Regenerate with RegressionGate --update");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.fungate.translate.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import de.fungate.translate.core.services.curlers.RecordingStore;
+import fj.data.Option;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded HTTP server standing in for the providers. It serves the responses of a RecordingStore to requests of
+ * the form /host/path?query, as sent by a RedirectingCurler, after a simulated latency of
+ * baseLatencyMillis plus an exponentially distributed jitter with a mean of meanJitterMillis. A fraction of
+ * errorRate requests fails with 503, unrecorded URLs with 404.
+ */
+public class ReplayServer {
+
+    private final RecordingStore store;
+    private final long baseLatencyMillis;
+    private final double meanJitterMillis;
+    private final double errorRate;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ReplayServer(RecordingStore store, long baseLatencyMillis, double meanJitterMillis, double errorRate) {
+        this.store = store;
+        this.baseLatencyMillis = baseLatencyMillis;
+        this.meanJitterMillis = meanJitterMillis;
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Starts the server on an ephemeral port of the loopback interface.
+     * @param threads serving requests; simulated latency occupies a thread, so this bounds the concurrency.
+     * @return the base URL of the server, to be used with a RedirectingCurler.
+     * @throws IOException if the server could not be bound.
+     */
+    public String start(int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                serve(exchange);
+            }
+        });
+        server.start();
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try {
+            Random random = ThreadLocalRandom.current();
+            long latency = baseLatencyMillis + (long) (-meanJitterMillis * Math.log(1 - random.nextDouble()));
+            TimeUnit.MILLISECONDS.sleep(latency);
+            if (random.nextDouble() < errorRate) {
+                respond(exchange, 503, new byte[0]);
+                return;
+            }
+            Option<byte[]> body = store.read(originalUrl(exchange));
+            if (body.isNone()) {
+                respond(exchange, 404, new byte[0]);
+            } else {
+                respond(exchange, 200, body.some());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String originalUrl(HttpExchange exchange) {
+        String uri = exchange.getRequestURI().getRawPath();
+        String query = exchange.getRequestURI().getRawQuery();
+        return "http:/" + uri + (query == null ? "" : "?" + query);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
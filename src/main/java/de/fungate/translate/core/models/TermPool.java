@@ -0,0 +1,81 @@
+package de.fungate.translate.core.models;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of canonical term Strings, so that the many Translations of cached result sets share one instance of each
+ * term, e.g. "daher" or "therefore", instead of one copy per parsed page. The pool only holds weak references:
+ * a term is dropped as soon as no Translation uses it any more, so the pool never outgrows the live terms.
+ * Lookups are spread over lock striped segments to keep parser threads from contending.
+ */
+public class TermPool {
+
+    private static final TermPool SHARED = new TermPool(16);
+
+    private final Segment[] segments;
+
+    /**
+     * @param concurrency number of independently locked segments, rounded up to a power of two.
+     */
+    public TermPool(int concurrency) {
+        int size = 1;
+        while (size < concurrency) {
+            size <<= 1;
+        }
+        segments = new Segment[size];
+        for (int i = 0; i < size; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * @return the pool used by all Translations.
+     */
+    public static TermPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param term to look up.
+     * @return the canonical instance equal to term; term itself if there was none yet.
+     */
+    public String intern(String term) {
+        Segment segment = segmentFor(term);
+        synchronized (segment) {
+            WeakReference<String> ref = segment.get(term);
+            String canonical = ref == null ? null : ref.get();
+            if (canonical == null) {
+                segment.put(term, new WeakReference<>(term));
+                canonical = term;
+            }
+            return canonical;
+        }
+    }
+
+    /**
+     * @return the number of distinct terms currently pooled, including some which may just have been collected.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String term) {
+        int h = term.hashCode();
+        // spread the high bits, WeakHashMap uses the low ones as well
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    /**
+     * A non-generic subclass, so the segments fit into a plain array.
+     */
+    private static final class Segment extends WeakHashMap<String, WeakReference<String>> {
+    }
+}
@@ -4,16 +4,20 @@ import javax.annotation.Nonnull;
 
 /**
  * Domain model representing a translation. That is, a pair of an english and a german term.
+ * The terms are canonicalized through the shared TermPool, as the same words recur in thousands of cached
+ * translations, and the hash code is computed once, as translations mostly live in hash sets.
  * @author Florian Supplie
  */
 public class Translation implements Comparable<Translation> {
 
 	private final @Nonnull String english;
 	private final @Nonnull String german;
+    private final int hash;
 
     public Translation(@Nonnull String english, @Nonnull String german) {
-        this.english = english;
-        this.german = german;
+        this.english = TermPool.shared().intern(english);
+        this.german = TermPool.shared().intern(german);
+        this.hash = 31 * this.english.hashCode() + this.german.hashCode();
     }
 
     @Nonnull
@@ -47,6 +51,7 @@ public class Translation implements Comparable<Translation> {
 
         Translation that = (Translation) o;
 
+        if (hash != that.hash) return false;
         if (!english.equals(that.english)) return false;
         if (!german.equals(that.german)) return false;
 
@@ -57,9 +62,7 @@ public class Translation implements Comparable<Translation> {
 
     @Override
     public int hashCode() {
-        int result = english.hashCode();
-        result = 31 * result + german.hashCode();
-        return result;
+        return hash;
     }
 
     @Override
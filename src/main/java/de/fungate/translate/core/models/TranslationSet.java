@@ -0,0 +1,287 @@
+package de.fungate.translate.core.models;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact, immutable Set of Translations. Instead of a HashMap with an entry object per element, it keeps the
+ * elements and their hash codes in two arrays and finds them through an open addressing table of array indices,
+ * which costs about 16 bytes per translation and needs no allocation on lookup or iteration.
+ * Iteration follows insertion order, or the natural order of Translation for sets built sorted.
+ * Translators fill a Builder while parsing; merging results of several providers with addAll reuses the hash codes
+ * of TranslationSets instead of recomputing them.
+ */
+public final class TranslationSet extends AbstractSet<Translation> {
+
+    private static final TranslationSet EMPTY = new TranslationSet(new Translation[0], new int[0], false);
+    private static final TranslationSet FAILED = new TranslationSet(new Translation[0], new int[0], false);
+
+    private final Translation[] elements;
+    private final int[] hashes;
+    // index + 1 of the element in each slot, 0 for an empty slot; length is a power of two, at most half filled
+    private final int[] slots;
+    private final boolean sorted;
+
+    private TranslationSet(Translation[] elements, int[] hashes, boolean sorted) {
+        this.elements = elements;
+        this.hashes = hashes;
+        this.sorted = sorted;
+        this.slots = new int[tableSizeFor(elements.length)];
+        for (int i = 0; i < elements.length; i++) {
+            int slot = spread(hashes[i]) & (slots.length - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    /**
+     * @return the empty TranslationSet.
+     */
+    public static TranslationSet of() {
+        return EMPTY;
+    }
+
+    /**
+     * @return an empty TranslationSet for content the translations could not be extracted from, e.g. a truncated
+     * response. It equals of(), but isFailed tells it apart, so caches do not take a failure for a term without
+     * translations.
+     */
+    public static TranslationSet failed() {
+        return FAILED;
+    }
+
+    /**
+     * @param translations returned by a translator.
+     * @return true, iff translations is the result of a failed parse, see failed().
+     */
+    public static boolean isFailed(Set<Translation> translations) {
+        return translations == FAILED;
+    }
+
+    /**
+     * @param translations to copy, duplicates are dropped.
+     * @return a TranslationSet iterating in the order of translations; translations itself if it already is one.
+     */
+    public static TranslationSet copyOf(Collection<? extends Translation> translations) {
+        if (translations instanceof TranslationSet) {
+            return (TranslationSet) translations;
+        }
+        return builder(translations.size()).addAll(translations).build();
+    }
+
+    /**
+     * @return a new Builder for a small number of translations, growing as needed.
+     */
+    public static Builder builder() {
+        return new Builder(8);
+    }
+
+    /**
+     * @param expectedSize number of translations to be added, to avoid growing.
+     * @return a new Builder.
+     */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * @return this set if it is sorted already, otherwise a copy iterating in the natural order of Translation.
+     */
+    public TranslationSet sorted() {
+        if (sorted || elements.length < 2) {
+            return this;
+        }
+        Translation[] sortedElements = elements.clone();
+        Arrays.sort(sortedElements);
+        int[] sortedHashes = new int[sortedElements.length];
+        for (int i = 0; i < sortedElements.length; i++) {
+            sortedHashes[i] = sortedElements[i].hashCode();
+        }
+        return new TranslationSet(sortedElements, sortedHashes, true);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Translation)) {
+            return false;
+        }
+        return indexOf(o, o.hashCode()) >= 0;
+    }
+
+    private int indexOf(Object o, int hash) {
+        if (slots.length == 0) {
+            return -1;
+        }
+        int slot = spread(hash) & (slots.length - 1);
+        while (slots[slot] != 0) {
+            int index = slots[slot] - 1;
+            if (hashes[index] == hash && elements[index].equals(o)) {
+                return index;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<Translation> iterator() {
+        return new Iterator<Translation>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.length;
+            }
+
+            @Override
+            public Translation next() {
+                if (next >= elements.length) {
+                    throw new NoSuchElementException();
+                }
+                return elements[next++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("TranslationSet is immutable");
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int hash : hashes) {
+            h += hash;
+        }
+        return h;
+    }
+
+    private static int spread(int hash) {
+        // Translation hashes are 31 * english + german String hashes, and the slot index only keeps their low bits;
+        // fold the high bits in like HashMap does, so hashes differing only there do not collide
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        int tableSize = 2;
+        while (tableSize < 2 * size) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    /**
+     * Collects translations, dropping duplicates, into a TranslationSet. Not thread safe.
+     */
+    public static final class Builder {
+
+        private Translation[] elements;
+        private int[] hashes;
+        private int[] slots;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 4);
+            elements = new Translation[capacity];
+            hashes = new int[capacity];
+            slots = new int[tableSizeFor(capacity)];
+        }
+
+        /**
+         * @param translation to add.
+         * @return true, iff translation was not yet added.
+         */
+        public boolean add(Translation translation) {
+            return add(translation, translation.hashCode());
+        }
+
+        /**
+         * @param translations to add.
+         * @return this builder.
+         */
+        public Builder addAll(Collection<? extends Translation> translations) {
+            if (translations instanceof TranslationSet) {
+                TranslationSet set = (TranslationSet) translations;
+                for (int i = 0; i < set.elements.length; i++) {
+                    add(set.elements[i], set.hashes[i]);
+                }
+            } else {
+                for (Translation translation : translations) {
+                    add(translation);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * @return the number of distinct translations added so far.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return a TranslationSet iterating in insertion order. The builder may be used further.
+         */
+        public TranslationSet build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new TranslationSet(Arrays.copyOf(elements, size), Arrays.copyOf(hashes, size), false);
+        }
+
+        /**
+         * @return a TranslationSet iterating in the natural order of Translation. The builder may be used further.
+         */
+        public TranslationSet buildSorted() {
+            return build().sorted();
+        }
+
+        private boolean add(Translation translation, int hash) {
+            int slot = spread(hash) & (slots.length - 1);
+            while (slots[slot] != 0) {
+                int index = slots[slot] - 1;
+                if (hashes[index] == hash && elements[index].equals(translation)) {
+                    return false;
+                }
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            if (size == elements.length) {
+                grow();
+                return add(translation, hash);
+            }
+            elements[size] = translation;
+            hashes[size] = hash;
+            slots[slot] = ++size;
+            return true;
+        }
+
+        private void grow() {
+            elements = Arrays.copyOf(elements, 2 * elements.length);
+            hashes = Arrays.copyOf(hashes, 2 * hashes.length);
+            slots = new int[tableSizeFor(elements.length)];
+            for (int i = 0; i < size; i++) {
+                int slot = spread(hashes[i]) & (slots.length - 1);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & (slots.length - 1);
+                }
+                slots[slot] = i + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package de.fungate.translate.core.services;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Tells a translation that its caller has given up, e.g. because the client disconnected or a deadline passed.
+ * Translator.translate has no parameter for it, so a token is bound to the thread doing the translation instead:
+ * Curlers register a listener aborting their request in flight, parsing loops call throwIfCurrentCancelled() and
+ * give up with a CancellationException, so decorators like the caches never take a partial result for a complete
+ * one. The TranslationPipeline binds a token to every translation and cancels it along with the Future.
+ * Callers translating on their own thread bind a token themselves:
+ * <pre>
+ * CancellationToken.Scope scope = token.bind();
+ * try {
+ *     translator.translate(term, source);
+ * } finally {
+ *     scope.close();
+ * }
+ * </pre>
+ * and call token.cancel() from another thread.
+ */
+public final class CancellationToken {
+
+    private static final Logger LOG = Logger.getLogger(CancellationToken.class);
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+    private static final Registration NO_REGISTRATION = new Registration(null, null);
+
+    private final List<Runnable> listeners = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    /**
+     * @return true, iff cancel() has been called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the token and runs all registered listeners on the calling thread. Subsequent calls do nothing.
+     */
+    public void cancel() {
+        List<Runnable> toRun;
+        synchronized (listeners) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        for (Runnable listener : toRun) {
+            run(listener);
+        }
+    }
+
+    /**
+     * Registers a listener to run once the token is cancelled, right away if it is cancelled already.
+     * @param listener to run, e.g. aborting a request.
+     * @return the registration, to be closed once the listener is no longer needed.
+     */
+    public Registration onCancel(Runnable listener) {
+        synchronized (listeners) {
+            if (!cancelled) {
+                listeners.add(listener);
+                return new Registration(this, listener);
+            }
+        }
+        run(listener);
+        return NO_REGISTRATION;
+    }
+
+    /**
+     * Binds the token to the current thread until the returned scope is closed.
+     * @return the scope, restoring the previously bound token when closed.
+     */
+    public Scope bind() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(this);
+        return scope;
+    }
+
+    /**
+     * @return true, iff the token bound to the current thread is cancelled or the thread has been interrupted.
+     */
+    public static boolean isCurrentCancelled() {
+        CancellationToken token = CURRENT.get();
+        return (token != null && token.cancelled) || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Gives up the current translation if it is cancelled, see isCurrentCancelled(). Parsers call it instead of
+     * returning what they have extracted so far.
+     * @throws CancellationException if the token bound to the current thread is cancelled or the thread has been
+     * interrupted.
+     */
+    public static void throwIfCurrentCancelled() {
+        if (isCurrentCancelled()) {
+            throw new CancellationException("Translation has been cancelled");
+        }
+    }
+
+    /**
+     * Registers a listener with the token bound to the current thread, see onCancel(Runnable).
+     * @param listener to run once the current translation is cancelled.
+     * @return the registration, to be closed once the listener is no longer needed. Does nothing if no token is
+     * bound to the current thread.
+     */
+    public static Registration onCurrentCancel(Runnable listener) {
+        CancellationToken token = CURRENT.get();
+        return token == null ? NO_REGISTRATION : token.onCancel(listener);
+    }
+
+    private void remove(Runnable listener) {
+        synchronized (listeners) {
+            listeners.remove(listener);
+        }
+    }
+
+    private static void run(Runnable listener) {
+        try {
+            listener.run();
+        } catch (RuntimeException e) {
+            LOG.warn("Cancellation listener failed", e);
+        }
+    }
+
+    /**
+     * A listener registered with a token.
+     */
+    public static final class Registration implements AutoCloseable {
+        private final CancellationToken token;
+        private final Runnable listener;
+
+        private Registration(CancellationToken token, Runnable listener) {
+            this.token = token;
+            this.listener = listener;
+        }
+
+        /**
+         * Unregisters the listener.
+         */
+        @Override
+        public void close() {
+            if (token != null) {
+                token.remove(listener);
+            }
+        }
+    }
+
+    /**
+     * The binding of a token to the current thread.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final CancellationToken previous;
+
+        private Scope(CancellationToken previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Restores the token bound before.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
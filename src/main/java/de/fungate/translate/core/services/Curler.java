@@ -33,4 +33,12 @@ public interface Curler {
      */
 	Either<InputStream, Exception> getStream(String url);
 
+    /**
+     * Issues a get request to url, thereby respecting a timeout of timeoutMillis.
+     * @param url to where to issue the get request.
+     * @param timeoutMillis timeout in milliseconds.
+     * @return either an InputStream of the resulting file content at that url or an Exception explaining the error.
+     */
+    Either<InputStream, Exception> getStream(String url, int timeoutMillis);
+
 }
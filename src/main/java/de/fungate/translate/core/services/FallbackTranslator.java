@@ -0,0 +1,29 @@
+package de.fungate.translate.core.services;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+
+import java.util.Set;
+
+/**
+ * Asks the fallback translator only for terms the decorated translator knows no translation of, e.g. a local
+ * dictionary backed by the DictccTranslator for terms missing in the dictionary export.
+ */
+public class FallbackTranslator extends ForwardingTranslator {
+
+    private final Translator fallback;
+
+    public FallbackTranslator(Translator translator, Translator fallback) {
+        super(translator);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        Set<Translation> translations = super.translate(term, source);
+        if (!translations.isEmpty()) {
+            return translations;
+        }
+        return fallback.translate(term, source);
+    }
+}
@@ -0,0 +1,85 @@
+package de.fungate.translate.core.services;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import fj.data.Either;
+
+import java.util.Set;
+
+/**
+ * Base class for decorators of a StagedTranslator. Forwards both stages to the decorated translator, subclasses
+ * override the stages they need to intercept. Keeps translate(term, source) equivalent to parse(fetch(...)),
+ * so the decorated translator can still be run by a TranslationPipeline.
+ * Result limits are passed on to a decorated LimitedTranslator, so a decorated provider can still be limited by a
+ * ResultLimitingTranslator. Subclasses therefore intercept the stages taking maxResults, which the stages without
+ * it call with NO_LIMIT.
+ * @param <TContent> type of the content fetched by the decorated translator.
+ */
+public abstract class ForwardingStagedTranslator<TContent> implements LimitedTranslator<TContent> {
+
+    /**
+     * maxResults of the stages called without a limit: the decorated translator returns as many translations as
+     * it does by default.
+     */
+    protected static final int NO_LIMIT = 0;
+
+    private final StagedTranslator<TContent> delegate;
+
+    protected ForwardingStagedTranslator(StagedTranslator<TContent> delegate) {
+        this.delegate = delegate;
+    }
+
+    protected StagedTranslator<TContent> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        return parse(term, source, fetch(term, source));
+    }
+
+    @Override
+    public Either<TContent, Exception> fetch(String term, SourceLanguage source) {
+        return fetch(term, source, NO_LIMIT);
+    }
+
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage source, Either<TContent, Exception> content) {
+        return parse(term, source, content, NO_LIMIT);
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source, int maxResults) {
+        return parse(term, source, fetch(term, source, maxResults), maxResults);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The limit is ignored if the decorated translator is no LimitedTranslator.
+     */
+    @Override
+    public Either<TContent, Exception> fetch(String term, SourceLanguage source, int maxResults) {
+        if (maxResults == NO_LIMIT || !(delegate instanceof LimitedTranslator)) {
+            return delegate.fetch(term, source);
+        }
+        return ((LimitedTranslator<TContent>) delegate).fetch(term, source, maxResults);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The limit is ignored if the decorated translator is no LimitedTranslator.
+     */
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage source, Either<TContent, Exception> content,
+                                  int maxResults) {
+        if (maxResults == NO_LIMIT || !(delegate instanceof LimitedTranslator)) {
+            return delegate.parse(term, source, content);
+        }
+        return ((LimitedTranslator<TContent>) delegate).parse(term, source, content, maxResults);
+    }
+
+    @Override
+    public String getProvider() {
+        return delegate.getProvider();
+    }
+}
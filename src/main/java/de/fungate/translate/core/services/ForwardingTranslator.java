@@ -0,0 +1,33 @@
+package de.fungate.translate.core.services;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+
+import java.util.Set;
+
+/**
+ * Base class for decorators of a Translator. Forwards all calls to the decorated translator,
+ * subclasses override the ones they need to intercept.
+ */
+public abstract class ForwardingTranslator implements Translator {
+
+    private final Translator delegate;
+
+    protected ForwardingTranslator(Translator delegate) {
+        this.delegate = delegate;
+    }
+
+    protected Translator delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        return delegate.translate(term, source);
+    }
+
+    @Override
+    public String getProvider() {
+        return delegate.getProvider();
+    }
+}
@@ -0,0 +1,47 @@
+package de.fungate.translate.core.services;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import fj.data.Either;
+
+import java.util.Set;
+
+/**
+ * A StagedTranslator which can be told how many translations the caller needs, so it can ask the provider for no
+ * more than that where the provider supports it, and stop extracting as soon as enough translations are found.
+ * The methods without maxResults use a default limit of the implementation.
+ * For every implementation, translate(term, source, maxResults) is equivalent to
+ * parse(term, source, fetch(term, source, maxResults), maxResults).
+ * @param <TContent> type of the raw content delivered by the fetch stage.
+ */
+public interface LimitedTranslator<TContent> extends StagedTranslator<TContent> {
+
+    /**
+     * Translates a term in the source language into the complementary target language.
+     * @param term to be translated.
+     * @param source SourceLanguage of the term.
+     * @param maxResults maximum number of translations to return.
+     * @return the set of at most maxResults translations.
+     */
+    Set<Translation> translate(String term, SourceLanguage source, int maxResults);
+
+    /**
+     * Fetches the raw provider content for a term, asking the provider for at most maxResults entries if possible.
+     * @param term to be translated.
+     * @param source SourceLanguage of the term.
+     * @param maxResults maximum number of translations needed.
+     * @return either the raw content or an Exception explaining why it could not be fetched.
+     */
+    Either<TContent, Exception> fetch(String term, SourceLanguage source, int maxResults);
+
+    /**
+     * Extracts at most maxResults translations out of previously fetched content.
+     * @param term to be translated.
+     * @param source SourceLanguage of the term.
+     * @param content as returned by fetch(term, source, maxResults).
+     * @param maxResults maximum number of translations to return.
+     * @return the set of at most maxResults translations, empty if content holds an Exception.
+     */
+    Set<Translation> parse(String term, SourceLanguage source, Either<TContent, Exception> content, int maxResults);
+
+}
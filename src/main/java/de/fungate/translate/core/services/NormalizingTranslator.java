@@ -0,0 +1,36 @@
+package de.fungate.translate.core.services;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Canonicalizes terms before handing them to the decorated translator, see Queries.normalize(). Meant to be the
+ * outermost decorator, so that caches behind it see "Apple Pie", "apple  pie" and " apple pie" as the same key.
+ */
+public class NormalizingTranslator extends ForwardingTranslator {
+
+    private final boolean foldCase;
+
+    /**
+     * Creates a new NormalizingTranslator.
+     * @param translator to be decorated.
+     * @param foldCase whether terms are folded to lower case, too. Only safe for providers which look up
+     *                 terms case insensitively, like the dictionaries dict.cc, leo.org, pons.eu and woerterbuch.info.
+     */
+    public NormalizingTranslator(Translator translator, boolean foldCase) {
+        super(translator);
+        this.foldCase = foldCase;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        String normalized = foldCase ? Queries.fold(term) : Queries.normalize(term);
+        if (normalized.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return super.translate(normalized, source);
+    }
+}
@@ -0,0 +1,28 @@
+package de.fungate.translate.core.services;
+
+/**
+ * This class tells complete provider pages from truncated ones, so that a parser finding no translations on a page
+ * cut off mid-transfer reports TranslationSet.failed() instead of a term without translations.
+ */
+public abstract class Pages {
+
+    private static final String HTML_END = "</html>";
+
+    private Pages() {
+    }
+
+    /**
+     * Checks whether an HTML page ends with its closing html tag, ignoring trailing whitespace and case.
+     * Only looks at the end of the page, so it is cheap even for large pages.
+     * @param html of the page.
+     * @return true, iff the page has been received completely.
+     */
+    public static boolean isComplete(String html) {
+        int end = html.length();
+        while (end > 0 && Character.isWhitespace(html.charAt(end - 1))) {
+            end--;
+        }
+        int start = end - HTML_END.length();
+        return start >= 0 && html.regionMatches(true, start, HTML_END, 0, HTML_END.length());
+    }
+}
@@ -0,0 +1,56 @@
+package de.fungate.translate.core.services;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * This class canonicalizes query terms, so that equivalent spellings of a term reach the providers and caches
+ * as the same string, and encodes them uniformly for provider URLs.
+ */
+public abstract class Queries {
+
+    private Queries() {
+    }
+
+    /**
+     * Also matches non-breaking and other unicode spaces, which are common in copy-pasted terms.
+     */
+    private static final Pattern WHITESPACE = Pattern.compile(Regexes.WHITESPACE, Pattern.UNICODE_CHARACTER_CLASS);
+
+    /**
+     * Brings a term into unicode NFC, collapses runs of whitespace into single spaces and trims it.
+     * A decomposed umlaut ("A" followed by a combining diaeresis) thereby becomes "\u00C4" and " apple  pie "
+     * becomes "apple pie".
+     * @param term to normalize.
+     * @return the normalized term.
+     */
+    public static String normalize(String term) {
+        String nfc = Normalizer.normalize(term, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(nfc).replaceAll(" ").trim();
+    }
+
+    /**
+     * Normalizes a term and folds it to lower case. Only valid for providers which look up terms case insensitively.
+     * @param term to normalize.
+     * @return the normalized, lower case term.
+     */
+    public static String fold(String term) {
+        return normalize(term).toLowerCase(Locale.GERMAN);
+    }
+
+    /**
+     * Encodes a term as UTF-8 for the query part of a URL, with spaces as '+'.
+     * @param term to encode.
+     * @return the encoded term.
+     */
+    public static String urlEncode(String term) {
+        try {
+            return URLEncoder.encode(term, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError("UTF-8 is always supported");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package de.fungate.translate.core.services;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import fj.data.Either;
+
+import java.util.Set;
+
+/**
+ * Presents a LimitedTranslator with a fixed result limit as a plain StagedTranslator, so the limit reaches the
+ * provider through the usual decorators (BulkheadTranslator, InstrumentedTranslator) and the TranslationPipeline.
+ * Wraps the provider itself or the decorators around it, which pass the limit on (see ForwardingStagedTranslator).
+ * @param <TContent> type of the content fetched by the limited translator.
+ */
+public class ResultLimitingTranslator<TContent> implements StagedTranslator<TContent> {
+
+    private final LimitedTranslator<TContent> translator;
+    private final int maxResults;
+
+    /**
+     * Creates a new ResultLimitingTranslator.
+     * @param translator to be limited.
+     * @param maxResults maximum number of translations per term.
+     */
+    public ResultLimitingTranslator(LimitedTranslator<TContent> translator, int maxResults) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("maxResults must be positive");
+        }
+        this.translator = translator;
+        this.maxResults = maxResults;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        return translator.translate(term, source, maxResults);
+    }
+
+    @Override
+    public Either<TContent, Exception> fetch(String term, SourceLanguage source) {
+        return translator.fetch(term, source, maxResults);
+    }
+
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage source, Either<TContent, Exception> content) {
+        return translator.parse(term, source, content, maxResults);
+    }
+
+    @Override
+    public String getProvider() {
+        return translator.getProvider();
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+}
@@ -0,0 +1,34 @@
+package de.fungate.translate.core.services;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import fj.data.Either;
+
+import java.util.Set;
+
+/**
+ * A Translator whose work is split into an I/O bound fetch stage and a CPU bound parse stage, so that both stages
+ * can be scheduled on separate executors (see TranslationPipeline).
+ * For every implementation, translate(term, source) is equivalent to parse(term, source, fetch(term, source)).
+ * @param <TContent> type of the raw content delivered by the fetch stage, e.g. the HTML page as a String.
+ */
+public interface StagedTranslator<TContent> extends Translator {
+
+    /**
+     * Fetches the raw provider content for a term. Does all the network I/O of a translation, but no parsing.
+     * @param term to be translated.
+     * @param source SourceLanguage of the term.
+     * @return either the raw content or an Exception explaining why it could not be fetched.
+     */
+    Either<TContent, Exception> fetch(String term, SourceLanguage source);
+
+    /**
+     * Extracts the translations out of previously fetched content. Does no network I/O.
+     * @param term to be translated.
+     * @param source SourceLanguage of the term.
+     * @param content as returned by fetch(term, source).
+     * @return the set of translations, empty if content holds an Exception.
+     */
+    Set<Translation> parse(String term, SourceLanguage source, Either<TContent, Exception> content);
+
+}
@@ -0,0 +1,60 @@
+package de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.ForwardingTranslator;
+import de.fungate.translate.core.services.Translator;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers queries from a TranslationIndex of earlier results in either direction, and asks the decorated
+ * translator only for terms the index does not know well enough. A German query for "Wand" thereby also answers a
+ * later English query for "wall".
+ * A term known only from the other direction usually lacks some of its translations, e.g. "therefore" learnt from
+ * "daher" misses "deshalb". minTranslations trades this completeness against the hit rate: terms with fewer known
+ * translations are still looked up by the decorated translator.
+ */
+public class BidirectionalCachingTranslator extends ForwardingTranslator {
+
+    private final TranslationIndex index;
+    private final int minTranslations;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new BidirectionalCachingTranslator.
+     * @param translator to be decorated.
+     * @param index of earlier results, may be shared by translators of the same provider.
+     * @param minTranslations minimum number of known translations to answer from the index.
+     */
+    public BidirectionalCachingTranslator(Translator translator, TranslationIndex index, int minTranslations) {
+        super(translator);
+        this.index = index;
+        this.minTranslations = Math.max(1, minTranslations);
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        Set<Translation> known = index.lookup(term, source);
+        if (known.size() >= minTranslations) {
+            hits.incrementAndGet();
+            return known;
+        }
+        misses.incrementAndGet();
+        Set<Translation> translations = super.translate(term, source);
+        if (!translations.isEmpty()) {
+            index.add(translations);
+        }
+        return translations;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,138 @@
+package de.fungate.translate.core.services.caches;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe Bloom filter over 64 bit hashes. Answers "definitely not contained" or "maybe contained" for a
+ * hash in constant time and with a fixed memory footprint. The k bit positions of a hash are derived by double
+ * hashing (Kirsch and Mitzenmacher), so callers only have to compute one good 64 bit hash per key, see hash().
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    /**
+     * Creates a Bloom filter sized for the expected number of insertions and false positive rate.
+     * @param expectedInsertions number of distinct keys which will be put into the filter.
+     * @param falsePositiveRate desired probability of mightContain() returning true for an absent key.
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter parameters");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int numWords = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(numWords);
+        this.numBits = numWords * 64L;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * ln2));
+    }
+
+    /**
+     * Adds a key to the filter.
+     * @param hash 64 bit hash of the key.
+     */
+    public void put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, old, old | mask));
+        }
+    }
+
+    /**
+     * Tests for a key.
+     * @param hash 64 bit hash of the key.
+     * @return false, iff the key has definitely never been put. true, iff it probably has been.
+     */
+    public boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resets the filter to the empty state.
+     */
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0);
+        }
+    }
+
+    public long getNumBits() {
+        return numBits;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    private long bitIndex(int combinedHash) {
+        // flip negative values, as the modulo of them would be negative, too
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % numBits;
+    }
+
+    /**
+     * Computes a 64 bit hash of a number of char sequences without concatenating them,
+     * using FNV-1a followed by the MurmurHash3 finalizer.
+     * @param parts to be hashed. Parts are separated, so ("ab", "c") hashes differently than ("a", "bc").
+     * @return the hash.
+     */
+    public static long hash(CharSequence... parts) {
+        long h = FNV_OFFSET;
+        for (CharSequence part : parts) {
+            h = mix(h, part);
+        }
+        return finish(h);
+    }
+
+    /**
+     * Computes the same hash as hash(first, second, third) would as varargs call, but without allocating the array.
+     * @param first part to be hashed.
+     * @param second part to be hashed.
+     * @param third part to be hashed.
+     * @return the hash.
+     */
+    public static long hash(CharSequence first, CharSequence second, CharSequence third) {
+        return finish(mix(mix(mix(FNV_OFFSET, first), second), third));
+    }
+
+    private static long mix(long h, CharSequence part) {
+        for (int i = 0; i < part.length(); i++) {
+            h ^= part.charAt(i);
+            h *= FNV_PRIME;
+        }
+        h ^= 0xffff; // separator, not a valid char
+        return h * FNV_PRIME;
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
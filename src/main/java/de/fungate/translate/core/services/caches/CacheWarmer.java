@@ -0,0 +1,266 @@
+package de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.Queries;
+import de.fungate.translate.core.services.Translator;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fills a cache with the most popular terms of a query log before a node starts serving, so a deploy does not push
+ * every popular query to the providers at once. The terms are translated one after another at a fixed rate, most
+ * popular first, until all topN are warm or maxDurationMillis has passed.
+ * A query log has one query per line, the language ("de" or "en"), a tab and the term as typed by the user.
+ */
+public class CacheWarmer {
+
+    private static final Logger LOG = Logger.getLogger(CacheWarmer.class);
+
+    private static final Comparator<PopularTerm> MOST_POPULAR_FIRST = new Comparator<PopularTerm>() {
+        @Override
+        public int compare(PopularTerm a, PopularTerm b) {
+            if (a.count != b.count) {
+                return a.count > b.count ? -1 : 1;
+            }
+            int byTerm = a.term.compareTo(b.term);
+            return byTerm != 0 ? byTerm : a.source.compareTo(b.source);
+        }
+    };
+
+    private final Translator cache;
+    private final int topN;
+    private final long intervalMillis;
+    private final long maxDurationMillis;
+
+    /**
+     * Creates a new CacheWarmer.
+     * @param cache to be warmed, usually behind a NormalizingTranslator, as the terms are normalized already.
+     * @param topN number of terms to warm.
+     * @param queriesPerSecond rate at which terms are translated.
+     * @param maxDurationMillis time after which warming stops, even if not all terms are warm.
+     */
+    public CacheWarmer(Translator cache, int topN, double queriesPerSecond, long maxDurationMillis) {
+        if (queriesPerSecond <= 0) {
+            throw new IllegalArgumentException("queriesPerSecond must be positive");
+        }
+        this.cache = cache;
+        this.topN = topN;
+        this.intervalMillis = (long) (1000 / queriesPerSecond);
+        this.maxDurationMillis = maxDurationMillis;
+    }
+
+    /**
+     * Counts the queries of a log by normalized term.
+     * @param log to read.
+     * @param foldCase whether terms are folded to lower case, like the NormalizingTranslator in front of the cache.
+     * @return the distinct terms, most popular first.
+     * @throws IOException if the log cannot be read.
+     */
+    public static List<PopularTerm> readQueryLog(Reader log, boolean foldCase) throws IOException {
+        Map<String, PopularTerm> terms = new HashMap<>();
+        BufferedReader reader = new BufferedReader(log);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int tab = line.indexOf('\t');
+            SourceLanguage source = tab < 0 ? null : language(line.substring(0, tab));
+            if (source == null) {
+                continue;
+            }
+            String raw = line.substring(tab + 1);
+            String term = foldCase ? Queries.fold(raw) : Queries.normalize(raw);
+            if (term.isEmpty()) {
+                continue;
+            }
+            String key = source + ":" + term;
+            PopularTerm popular = terms.get(key);
+            if (popular == null) {
+                popular = new PopularTerm(term, source);
+                terms.put(key, popular);
+            }
+            popular.count++;
+        }
+        List<PopularTerm> sorted = new ArrayList<>(terms.values());
+        Collections.sort(sorted, MOST_POPULAR_FIRST);
+        return sorted;
+    }
+
+    private static SourceLanguage language(String code) {
+        switch (code.trim().toLowerCase(Locale.ROOT)) {
+            case "de":
+                return SourceLanguage.GERMAN;
+            case "en":
+                return SourceLanguage.ENGLISH;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Reads a UTF-8 query log and warms the cache with its most popular terms, see warm(List).
+     * @param log to read.
+     * @param foldCase whether terms are folded to lower case, like the NormalizingTranslator in front of the cache.
+     * @return the report of the warm-up.
+     * @throws IOException if the log cannot be read.
+     */
+    public Report warm(File log, boolean foldCase) throws IOException {
+        try (Reader in = new InputStreamReader(new FileInputStream(log), "UTF-8")) {
+            return warm(readQueryLog(in, foldCase));
+        }
+    }
+
+    /**
+     * Translates the topN terms with the cache, blocking until done. An interrupted warm-up stops right away and
+     * reports the terms warmed so far; the interrupt status of the thread is kept.
+     * @param popular terms as returned by readQueryLog, most popular first.
+     * @return the report of the warm-up.
+     */
+    public Report warm(List<PopularTerm> popular) {
+        long start = now();
+        long deadline = start + maxDurationMillis;
+        long totalQueries = 0;
+        for (PopularTerm term : popular) {
+            totalQueries += term.count;
+        }
+        int warmed = 0;
+        int empty = 0;
+        long coveredQueries = 0;
+        long next = start;
+        for (PopularTerm term : popular.subList(0, Math.min(topN, popular.size()))) {
+            long now = now();
+            if (next > now) {
+                sleep(next - now);
+                now = now();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                LOG.warn("Stopped warming the cache, interrupted");
+                break;
+            }
+            if (now >= deadline) {
+                LOG.warn("Stopped warming the cache after " + maxDurationMillis + " ms");
+                break;
+            }
+            next = now + intervalMillis;
+            try {
+                if (cache.translate(term.term, term.source).isEmpty()) {
+                    empty++;
+                } else {
+                    warmed++;
+                    coveredQueries += term.count;
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Could not warm " + term.term, e);
+                empty++;
+            }
+        }
+        Report report = new Report(warmed, empty, now() - start,
+                totalQueries == 0 ? 0 : (double) coveredQueries / totalQueries);
+        LOG.info(report);
+        return report;
+    }
+
+    /**
+     * @return the current time in milliseconds. Overridable for testing.
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Waits between two translations. Overridable for testing.
+     * @param millis to wait.
+     */
+    protected void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A normalized term of a query log together with the number of queries for it.
+     */
+    public static final class PopularTerm {
+        private final String term;
+        private final SourceLanguage source;
+        private int count;
+
+        public PopularTerm(String term, SourceLanguage source) {
+            this.term = term;
+            this.source = source;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        public SourceLanguage getSource() {
+            return source;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Outcome of a warm-up.
+     */
+    public static final class Report {
+        private final int warmed;
+        private final int empty;
+        private final long durationMillis;
+        private final double hitRate;
+
+        Report(int warmed, int empty, long durationMillis, double hitRate) {
+            this.warmed = warmed;
+            this.empty = empty;
+            this.durationMillis = durationMillis;
+            this.hitRate = hitRate;
+        }
+
+        /**
+         * @return the number of terms now in the cache.
+         */
+        public int getWarmedCount() {
+            return warmed;
+        }
+
+        /**
+         * @return the number of terms without translations, which caches do not keep.
+         */
+        public int getEmptyCount() {
+            return empty;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * @return the fraction of the logged queries which would have been answered by the warm cache.
+         */
+        public double getHitRate() {
+            return hitRate;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Warmed %d terms (%d without translations) in %d ms, hit rate %.1f%%",
+                    warmed, empty, durationMillis, hitRate * 100);
+        }
+    }
+}
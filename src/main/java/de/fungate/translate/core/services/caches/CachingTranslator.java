@@ -0,0 +1,195 @@
+package de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.CancellationToken;
+import de.fungate.translate.core.services.ForwardingTranslator;
+import de.fungate.translate.core.services.Translator;
+import org.apache.log4j.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the translations of the decorated translator with stale-while-revalidate semantics: Entries are fresh for
+ * ttlMillis. During the following graceMillis they are still served, but the first caller to see a stale entry
+ * triggers a single background refresh, so callers of hot terms never wait for the provider. Only entries older
+ * than ttlMillis + graceMillis are loaded synchronously.
+ * Empty results are not cached, as they cannot be told apart from failed requests here (see NegativeCachingTranslator),
+ * and a refresh yielding nothing keeps the stale entry until it expires.
+ */
+public class CachingTranslator extends ForwardingTranslator {
+
+    private static final Logger LOG = Logger.getLogger(CachingTranslator.class);
+
+    private final long ttlMillis;
+    private final long graceMillis;
+    private final Executor refreshExecutor;
+    private final Map<Key, CacheEntry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    /**
+     * Creates a new CachingTranslator.
+     * @param translator to be decorated.
+     * @param ttlMillis how long an entry is fresh.
+     * @param graceMillis how long an entry is served stale while being refreshed.
+     * @param maxEntries maximum number of cached terms, the least recently used are evicted first.
+     * @param refreshExecutor running the background refreshes.
+     */
+    public CachingTranslator(Translator translator, long ttlMillis, long graceMillis, final int maxEntries,
+                             Executor refreshExecutor) {
+        super(translator);
+        this.ttlMillis = ttlMillis;
+        this.graceMillis = graceMillis;
+        this.refreshExecutor = refreshExecutor;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public Set<Translation> translate(final String term, final SourceLanguage source) {
+        final Key key = new Key(term, source);
+        final CacheEntry entry = entries.get(key);
+        long age = entry == null ? Long.MAX_VALUE : now() - entry.loadedAt;
+        if (age <= ttlMillis) {
+            hits.incrementAndGet();
+            return entry.translations;
+        }
+        if (age <= ttlMillis + graceMillis) {
+            staleHits.incrementAndGet();
+            if (entry.refreshing.compareAndSet(false, true)) {
+                refreshInBackground(key, entry);
+            }
+            return entry.translations;
+        }
+        misses.incrementAndGet();
+        return load(key);
+    }
+
+    private void refreshInBackground(final Key key, final CacheEntry stale) {
+        try {
+            refreshExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    refreshes.incrementAndGet();
+                    try {
+                        load(key);
+                    } finally {
+                        stale.refreshing.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Could not schedule the refresh of " + key.term, e);
+            stale.refreshing.set(false);
+        }
+    }
+
+    private Set<Translation> load(Key key) {
+        Set<Translation> translations = super.translate(key.term, key.source);
+        // the result of a cancelled translation may be incomplete
+        if (!translations.isEmpty() && !CancellationToken.isCurrentCancelled()) {
+            translations = Collections.unmodifiableSet(translations);
+            entries.put(key, new CacheEntry(translations, now()));
+        }
+        return translations;
+    }
+
+    /**
+     * @return the current time in milliseconds. Overridable for testing.
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Tells whether a lookup would be answered from the cache, without counting it as hit or miss.
+     * @param term to look up.
+     * @param source SourceLanguage of the term.
+     * @return true, iff a fresh or stale entry for the term is cached.
+     */
+    public boolean contains(String term, SourceLanguage source) {
+        CacheEntry entry = entries.get(new Key(term, source));
+        return entry != null && now() - entry.loadedAt <= ttlMillis + graceMillis;
+    }
+
+    /**
+     * @return the number of lookups answered with a fresh entry.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups answered with a stale entry.
+     */
+    public long getStaleHitCount() {
+        return staleHits.get();
+    }
+
+    /**
+     * @return the number of lookups which had to wait for the decorated translator.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of started background refreshes.
+     */
+    public long getRefreshCount() {
+        return refreshes.get();
+    }
+
+    private static final class Key {
+        private final String term;
+        private final SourceLanguage source;
+
+        Key(String term, SourceLanguage source) {
+            this.term = term;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+            return source == that.source && term.equals(that.term);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * term.hashCode() + source.hashCode();
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Set<Translation> translations;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CacheEntry(Set<Translation> translations, long loadedAt) {
+            this.translations = translations;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.CancellationToken;
+import de.fungate.translate.core.services.ForwardingStagedTranslator;
+import de.fungate.translate.core.services.StagedTranslator;
+import fj.data.Either;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Skips the fetch stage for terms the decorated provider recently had no translations for, e.g. typos or pages
+ * like the fuzzy search notice of pons.eu. Only empty results of successfully fetched and parsed content are
+ * remembered, failed requests and content the provider could not parse (see TranslationSet.failed()) are not, so an
+ * unreachable provider or a truncated response is not mistaken for an unknown term.
+ * @param <TContent> type of the content fetched by the decorated translator.
+ */
+public class NegativeCachingTranslator<TContent> extends ForwardingStagedTranslator<TContent> {
+
+    /**
+     * Marks content which has not been fetched because the term is known to yield nothing.
+     * Shared and without a stack trace, so that a negative hit does not allocate.
+     */
+    private static final Exception KNOWN_EMPTY = new KnownEmptyException();
+
+    private final NegativeResultCache cache;
+
+    /**
+     * Creates a new NegativeCachingTranslator.
+     * @param translator to be decorated.
+     * @param cache of empty results, may be shared among providers.
+     */
+    public NegativeCachingTranslator(StagedTranslator<TContent> translator, NegativeResultCache cache) {
+        super(translator);
+        this.cache = cache;
+    }
+
+    @Override
+    public Either<TContent, Exception> fetch(String term, SourceLanguage source, int maxResults) {
+        if (cache.isKnownEmpty(getProvider(), term, source)) {
+            return Either.right(KNOWN_EMPTY);
+        }
+        return super.fetch(term, source, maxResults);
+    }
+
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage source, Either<TContent, Exception> content,
+                                  int maxResults) {
+        if (content.isRight()) {
+            if (content.right().value() == KNOWN_EMPTY) {
+                return Collections.emptySet();
+            }
+            return super.parse(term, source, content, maxResults);
+        }
+        Set<Translation> translations = super.parse(term, source, content, maxResults);
+        // a cancelled translation may have given up before finding anything
+        if (translations.isEmpty() && !TranslationSet.isFailed(translations)
+                && !CancellationToken.isCurrentCancelled()) {
+            cache.recordEmpty(getProvider(), term, source);
+        }
+        return translations;
+    }
+
+    private static class KnownEmptyException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        KnownEmptyException() {
+            super("Term is known to yield no translations", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers for a short time which (provider, term, source language) triples yielded no translations at all.
+ * A Bloom filter in front of the exact entries answers the common case of a term not known to be empty without
+ * touching the map or allocating anything. Only Bloom filter hits are confirmed against the exact, expiring entries,
+ * so a false positive of the filter never suppresses a real lookup.
+ */
+public class NegativeResultCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Key, Long> expiryByKey = new ConcurrentHashMap<>();
+    private final BloomFilter filter;
+    private volatile long nextPurge;
+
+    /**
+     * Creates a new NegativeResultCache.
+     * @param ttlMillis how long a term is considered to yield no translations.
+     * @param maxEntries maximum number of remembered triples. Further ones are not remembered until others expire.
+     */
+    public NegativeResultCache(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.filter = new BloomFilter(maxEntries, 0.01);
+        this.nextPurge = System.currentTimeMillis() + ttlMillis;
+    }
+
+    /**
+     * @param provider queried for the term.
+     * @param term queried.
+     * @param source SourceLanguage of the term.
+     * @return true, iff the provider yielded no translations for the term during the last ttlMillis.
+     */
+    public boolean isKnownEmpty(String provider, String term, SourceLanguage source) {
+        long hash = BloomFilter.hash(provider, source.name(), term);
+        if (!filter.mightContain(hash)) {
+            return false;
+        }
+        Key key = new Key(provider, term, source, hash);
+        Long expiry = expiryByKey.get(key);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry < System.currentTimeMillis()) {
+            expiryByKey.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remembers that the provider yielded no translations for the term.
+     * @param provider queried for the term.
+     * @param term queried.
+     * @param source SourceLanguage of the term.
+     */
+    public void recordEmpty(String provider, String term, SourceLanguage source) {
+        long now = System.currentTimeMillis();
+        if (now >= nextPurge) {
+            purge(now);
+        }
+        if (expiryByKey.size() >= maxEntries) {
+            return;
+        }
+        long hash = BloomFilter.hash(provider, source.name(), term);
+        expiryByKey.put(new Key(provider, term, source, hash), now + ttlMillis);
+        filter.put(hash);
+    }
+
+    /**
+     * @return the number of remembered triples, including expired ones not purged yet.
+     */
+    public int size() {
+        return expiryByKey.size();
+    }
+
+    /**
+     * Drops expired entries and rebuilds the Bloom filter from the remaining ones, as bits cannot be removed.
+     * Lookups racing with the rebuild may miss an entry, which merely costs them a provider request.
+     */
+    private synchronized void purge(long now) {
+        if (now < nextPurge) {
+            return; // another thread purged in the meantime
+        }
+        filter.clear();
+        Iterator<Map.Entry<Key, Long>> it = expiryByKey.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Long> e = it.next();
+            if (e.getValue() < now) {
+                it.remove();
+            } else {
+                filter.put(e.getKey().hash);
+            }
+        }
+        nextPurge = now + ttlMillis;
+    }
+
+    private static final class Key {
+        private final String provider;
+        private final String term;
+        private final SourceLanguage source;
+        private final long hash;
+
+        Key(String provider, String term, SourceLanguage source, long hash) {
+            this.provider = provider;
+            this.term = term;
+            this.source = source;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+            return hash == that.hash
+                    && source == that.source
+                    && provider.equals(that.provider)
+                    && term.equals(that.term);
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
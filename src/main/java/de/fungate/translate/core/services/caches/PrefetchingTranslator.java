@@ -0,0 +1,225 @@
+package de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.ForwardingTranslator;
+import de.fungate.translate.core.services.SynonymProvider;
+import de.fungate.translate.core.services.concurrent.Bulkhead;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Speculatively warms the cache it decorates with the terms a user is likely to look up next: after every
+ * translation the cache could not answer, the synonyms of the term and the targets of its translations are
+ * translated in the background. Cache hits prefetch nothing, their related terms have been prefetched on the miss.
+ * Prefetching is best effort and never competes with real queries: it only starts while every provider bulkhead
+ * has at least half of its slots free and nobody waits, and all prefetchers sharing a budget together run at most
+ * as many prefetches, synonym lookups included, as the budget has slots. Anything beyond that is dropped, not queued.
+ */
+public class PrefetchingTranslator extends ForwardingTranslator {
+
+    private static final Logger LOG = Logger.getLogger(PrefetchingTranslator.class);
+
+    private final CachingTranslator cache;
+    private final SynonymProvider synonyms;
+    private final Executor prefetchExecutor;
+    private final Bulkhead budget;
+    private final List<Bulkhead> providers;
+    private final int maxRelated;
+    private final Set<String> inFlight = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final AtomicLong prefetched = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    /**
+     * Creates a new PrefetchingTranslator.
+     * @param cache to be decorated and warmed.
+     * @param synonyms provider of the related terms in the source language, may be null to prefetch only the
+     *                 targets of the translations.
+     * @param prefetchExecutor running the prefetches, see lowPriorityExecutor.
+     * @param budget shared by all prefetchers, bounding the prefetches in flight. Its waiting limits are ignored.
+     * @param providers bulkheads of the providers behind the cache, whose load decides whether to prefetch.
+     * @param maxRelated maximum number of related terms prefetched per translation.
+     */
+    public PrefetchingTranslator(CachingTranslator cache, SynonymProvider synonyms, Executor prefetchExecutor,
+                                 Bulkhead budget, Collection<Bulkhead> providers, int maxRelated) {
+        super(cache);
+        this.cache = cache;
+        this.synonyms = synonyms;
+        this.prefetchExecutor = prefetchExecutor;
+        this.budget = budget;
+        this.providers = new ArrayList<>(providers);
+        this.maxRelated = maxRelated;
+    }
+
+    /**
+     * Creates an executor of daemon threads with minimum priority, rejecting prefetches once queueCapacity of them
+     * are waiting.
+     * @param threads number of threads running prefetches.
+     * @param queueCapacity maximum number of scheduled, but not yet started prefetches.
+     * @return the executor.
+     */
+    public static ExecutorService lowPriorityExecutor(int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "translate-prefetch-" + count.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            }
+        });
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        boolean miss = !cache.contains(term, source);
+        Set<Translation> translations = super.translate(term, source);
+        if (miss && maxRelated > 0 && hasHeadroom()) {
+            schedule(term, source, translations);
+        }
+        return translations;
+    }
+
+    private void schedule(final String term, final SourceLanguage source, final Set<Translation> translations) {
+        try {
+            prefetchExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    prefetchRelated(term, source, translations);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            skipped.incrementAndGet();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dropped the prefetch of the terms related to " + term);
+            }
+        }
+    }
+
+    private void prefetchRelated(String term, SourceLanguage source, Set<Translation> translations) {
+        SourceLanguage target = source == SourceLanguage.GERMAN ? SourceLanguage.ENGLISH : SourceLanguage.GERMAN;
+        Set<String> related = synonymsOf(term, source, maxRelated);
+        if (related == null) {
+            return;
+        }
+        int remaining = maxRelated;
+        for (String synonym : related) {
+            if (!prefetch(synonym, source)) {
+                return;
+            }
+            remaining--;
+        }
+        Set<String> targets = new LinkedHashSet<>();
+        for (Translation translation : translations) {
+            targets.add(source == SourceLanguage.GERMAN ? translation.getEnglish() : translation.getGerman());
+        }
+        for (String t : targets) {
+            if (remaining == 0 || !prefetch(t, target)) {
+                return;
+            }
+            remaining--;
+        }
+    }
+
+    /**
+     * Looks up the synonyms of a term, which costs a request to the synonym provider, so it takes a slot of the
+     * budget like a prefetch does.
+     * @return the synonyms, null iff prefetching should stop for now.
+     */
+    private Set<String> synonymsOf(String term, SourceLanguage source, int limit) {
+        if (synonyms == null) {
+            return Collections.emptySet();
+        }
+        if (!hasHeadroom() || !budget.tryAcquireNow()) {
+            skipped.incrementAndGet();
+            return null;
+        }
+        try {
+            Set<String> related = new LinkedHashSet<>();
+            for (String synonym : synonyms.getSynonyms(term, source)) {
+                if (related.size() == limit) {
+                    break;
+                }
+                if (!synonym.equals(term)) {
+                    related.add(synonym);
+                }
+            }
+            return related;
+        } catch (RuntimeException e) {
+            LOG.warn("Synonym lookup of " + term + " failed", e);
+            return null;
+        } finally {
+            budget.release();
+        }
+    }
+
+    /**
+     * Translates a related term through the decorated cache, unless the providers are busy or the budget is used up.
+     * @return false, iff prefetching should stop for now.
+     */
+    private boolean prefetch(String term, SourceLanguage source) {
+        if (!hasHeadroom() || !budget.tryAcquireNow()) {
+            skipped.incrementAndGet();
+            return false;
+        }
+        String key = source + ":" + term;
+        try {
+            if (inFlight.add(key)) {
+                try {
+                    super.translate(term, source);
+                    prefetched.incrementAndGet();
+                } finally {
+                    inFlight.remove(key);
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            LOG.warn("Prefetch of " + term + " failed", e);
+            return false;
+        } finally {
+            budget.release();
+        }
+    }
+
+    private boolean hasHeadroom() {
+        for (Bulkhead provider : providers) {
+            if (provider.getWaitingCount() > 0 || 2 * provider.getActiveCount() > provider.getMaxConcurrent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of related terms translated in the background.
+     */
+    public long getPrefetchCount() {
+        return prefetched.get();
+    }
+
+    /**
+     * @return the number of prefetches dropped for lack of headroom, budget or queue capacity.
+     */
+    public long getSkippedCount() {
+        return skipped.get();
+    }
+}
@@ -0,0 +1,128 @@
+package de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.dictionary.DictionaryIndex;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Store of known translations, indexed by the terms of both of their sides. Translations obtained for a German
+ * query are thereby also found by an English query for any of their English terms, and vice versa.
+ * Terms are compared by their DictionaryIndex.key(), so "to wall" is found as "wall" and "Wand {f}" as "wand".
+ * Each language keeps at most maxEntries terms, the least recently used are evicted first.
+ */
+public class TranslationIndex {
+
+    private final long ttlMillis;
+    private final Map<String, IndexEntry> english;
+    private final Map<String, IndexEntry> german;
+
+    /**
+     * Creates a new TranslationIndex.
+     * @param ttlMillis how long a term is known after a translation with it was last added.
+     * @param maxEntries maximum number of terms per language.
+     */
+    public TranslationIndex(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.english = lruMap(maxEntries);
+        this.german = lruMap(maxEntries);
+    }
+
+    private static Map<String, IndexEntry> lruMap(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, IndexEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IndexEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Indexes translations by both of their terms.
+     * @param translations to add.
+     */
+    public void add(Collection<Translation> translations) {
+        Map<String, TranslationSet.Builder> byEnglish = new HashMap<>();
+        Map<String, TranslationSet.Builder> byGerman = new HashMap<>();
+        for (Translation t : translations) {
+            group(byEnglish, DictionaryIndex.key(t.getEnglish(), SourceLanguage.ENGLISH), t);
+            group(byGerman, DictionaryIndex.key(t.getGerman(), SourceLanguage.GERMAN), t);
+        }
+        long now = now();
+        merge(english, byEnglish, now);
+        merge(german, byGerman, now);
+    }
+
+    /**
+     * @param term to look up.
+     * @param language of the term.
+     * @return the known translations with term on the side of the given language, empty if there are none.
+     */
+    public Set<Translation> lookup(String term, SourceLanguage language) {
+        IndexEntry entry = mapFor(language).get(DictionaryIndex.key(term, language));
+        if (entry == null || now() - entry.addedAt > ttlMillis) {
+            return TranslationSet.of();
+        }
+        return entry.translations;
+    }
+
+    /**
+     * @param language of the terms.
+     * @return the number of indexed terms of the language, including expired ones not yet evicted.
+     */
+    public int size(SourceLanguage language) {
+        return mapFor(language).size();
+    }
+
+    /**
+     * @return the current time in milliseconds. Overridable for testing.
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private Map<String, IndexEntry> mapFor(SourceLanguage language) {
+        return language == SourceLanguage.ENGLISH ? english : german;
+    }
+
+    private static void group(Map<String, TranslationSet.Builder> groups, String key, Translation t) {
+        if (key.isEmpty()) {
+            return;
+        }
+        TranslationSet.Builder group = groups.get(key);
+        if (group == null) {
+            group = TranslationSet.builder();
+            groups.put(key, group);
+        }
+        group.add(t);
+    }
+
+    private void merge(Map<String, IndexEntry> map, Map<String, TranslationSet.Builder> groups, long now) {
+        synchronized (map) {
+            for (Map.Entry<String, TranslationSet.Builder> group : groups.entrySet()) {
+                IndexEntry old = map.get(group.getKey());
+                if (old != null && now - old.addedAt <= ttlMillis) {
+                    group.getValue().addAll(old.translations);
+                }
+                map.put(group.getKey(), new IndexEntry(group.getValue().build(), now));
+            }
+        }
+    }
+
+    private static final class IndexEntry {
+        private final TranslationSet translations;
+        private final long addedAt;
+
+        private IndexEntry(TranslationSet translations, long addedAt) {
+            this.translations = translations;
+            this.addedAt = addedAt;
+        }
+    }
+}
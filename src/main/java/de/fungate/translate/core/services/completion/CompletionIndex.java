@@ -0,0 +1,189 @@
+package de.fungate.translate.core.services.completion;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.Queries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead suggestions over all terms seen in translations, ranked by how often they were seen.
+ * <p>
+ * One trie per SourceLanguage holds the folded terms. Every trie node caches the most frequent terms below it, so
+ * completing a prefix costs one walk down the prefix, independent of the number of terms. As frequencies only
+ * grow, recording a term only has to offer it to the caches on its own path.
+ * Suggestions are returned in the spelling in which a term was first seen. Instances are thread safe; lookups
+ * share a read lock, recording takes the write lock.
+ */
+public class CompletionIndex {
+
+    private static final Comparator<Node> BY_FREQUENCY = new Comparator<Node>() {
+        @Override
+        public int compare(Node a, Node b) {
+            if (a.count != b.count) {
+                return a.count > b.count ? -1 : 1;
+            }
+            return a.term.compareTo(b.term);
+        }
+    };
+
+    private final int maxCompletions;
+    private final Node english = new Node();
+    private final Node german = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param maxCompletions number of completions cached per prefix, the maximum a lookup can return.
+     */
+    public CompletionIndex(int maxCompletions) {
+        this.maxCompletions = maxCompletions;
+    }
+
+    /**
+     * Records both terms of every translation.
+     * @param translations to record.
+     */
+    public void record(Collection<Translation> translations) {
+        lock.writeLock().lock();
+        try {
+            for (Translation t : translations) {
+                increment(english, t.getEnglish());
+                increment(german, t.getGerman());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a single term.
+     * @param term to record.
+     * @param language of the term.
+     */
+    public void record(String term, SourceLanguage language) {
+        lock.writeLock().lock();
+        try {
+            increment(rootOf(language), term);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param prefix typed so far, matched case insensitively.
+     * @param language of the prefix.
+     * @param limit maximum number of completions, at most maxCompletions are returned.
+     * @return the most frequently seen terms starting with prefix, most frequent first.
+     */
+    public List<String> complete(String prefix, SourceLanguage language, int limit) {
+        String key = Queries.fold(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = rootOf(language);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null || node.top.length == 0) {
+                return Collections.emptyList();
+            }
+            int n = Math.min(limit, node.top.length);
+            List<String> completions = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                completions.add(node.top[i].term);
+            }
+            return completions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node rootOf(SourceLanguage language) {
+        return language == SourceLanguage.ENGLISH ? english : german;
+    }
+
+    private void increment(Node root, String term) {
+        String key = Queries.fold(term);
+        if (key.isEmpty()) {
+            return;
+        }
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+        }
+        Node terminal = path[key.length()];
+        if (terminal.term == null) {
+            terminal.term = Queries.normalize(term);
+        }
+        terminal.count++;
+        for (Node node : path) {
+            offer(node, terminal);
+        }
+    }
+
+    private void offer(Node node, Node terminal) {
+        Node[] top = node.top;
+        int index = Arrays.asList(top).indexOf(terminal);
+        if (index < 0) {
+            if (top.length < maxCompletions) {
+                top = Arrays.copyOf(top, top.length + 1);
+                index = top.length - 1;
+            } else if (BY_FREQUENCY.compare(terminal, top[top.length - 1]) < 0) {
+                index = top.length - 1;
+            } else {
+                return;
+            }
+            top[index] = terminal;
+        }
+        // the count of terminal only grew, so move it towards the front
+        while (index > 0 && BY_FREQUENCY.compare(top[index], top[index - 1]) < 0) {
+            Node swap = top[index - 1];
+            top[index - 1] = top[index];
+            top[index] = swap;
+            index--;
+        }
+        node.top = top;
+    }
+
+    private static final class Node {
+        private static final Node[] NONE = new Node[0];
+
+        private char[] labels = new char[0];
+        private Node[] children = NONE;
+        private Node[] top = NONE;
+        // set for nodes at which a recorded term ends
+        private String term;
+        private long count;
+
+        private Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insert = -i - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            newLabels[insert] = c;
+            newChildren[insert] = new Node();
+            System.arraycopy(labels, insert, newLabels, insert + 1, labels.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insert];
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package de.fungate.translate.core.services.completion;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.ForwardingTranslator;
+import de.fungate.translate.core.services.Translator;
+
+import java.util.Set;
+
+/**
+ * Feeds every translation returned by the decorated translator into a CompletionIndex, so suggestions learn the
+ * terms of both languages as lookups happen.
+ */
+public class CompletionRecordingTranslator extends ForwardingTranslator {
+
+    private final CompletionIndex index;
+
+    public CompletionRecordingTranslator(Translator translator, CompletionIndex index) {
+        super(translator);
+        this.index = index;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        Set<Translation> translations = super.translate(term, source);
+        if (!translations.isEmpty()) {
+            index.record(translations);
+        }
+        return translations;
+    }
+}
@@ -0,0 +1,126 @@
+package de.fungate.translate.core.services.concurrent;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of concurrent calls to a single provider. Callers beyond maxConcurrent may wait for a free slot,
+ * but only up to maxWaiting of them at a time and only for maxWaitMillis. Everyone else is rejected right away,
+ * so a degraded provider cannot tie up the threads of the healthy ones.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long maxWaitMillis;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Creates a new Bulkhead.
+     * @param name identifying the bulkhead, usually the provider name.
+     * @param maxConcurrent maximum number of calls in flight.
+     * @param maxWaiting maximum number of callers waiting for a free slot. 0 rejects as soon as all slots are taken.
+     * @param maxWaitMillis maximum time a caller waits for a free slot before it is rejected.
+     */
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, long maxWaitMillis) {
+        if (maxConcurrent < 1 || maxWaiting < 0 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException("Invalid bulkhead limits for " + name);
+        }
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Tries to enter the bulkhead. Every successful call must be followed by exactly one call to release().
+     * @return true, iff the caller may proceed. false, iff the caller has been rejected.
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Tries to enter the bulkhead without ever waiting for a free slot, for callers which would rather skip their
+     * work than delay it. Every successful call must be followed by exactly one call to release().
+     * @return true, iff the caller may proceed. false, iff all slots are taken.
+     */
+    public boolean tryAcquireNow() {
+        if (permits.tryAcquire()) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Leaves the bulkhead, freeing the slot for the next caller.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return the number of calls currently in flight.
+     */
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of callers currently waiting for a free slot.
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * @return the number of callers let through since creation.
+     */
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    /**
+     * @return the number of callers rejected since creation.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
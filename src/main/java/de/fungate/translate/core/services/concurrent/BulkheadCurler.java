@@ -0,0 +1,85 @@
+package de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.services.Curler;
+import fj.data.Either;
+
+import java.io.InputStream;
+
+/**
+ * Guards the requests of a Curler with a Bulkhead, for clients which are no StagedTranslator, like the Woxikon
+ * SynonymProvider. Rejected requests fail with a BulkheadFullException, which such clients treat like any failed
+ * request.
+ */
+public class BulkheadCurler implements Curler {
+
+    private final Curler curler;
+    private final Bulkhead bulkhead;
+
+    public BulkheadCurler(Curler curler, Bulkhead bulkhead) {
+        this.curler = curler;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Either<String, Exception> get(final String url) {
+        return guarded(new Request<String>() {
+            @Override
+            public Either<String, Exception> send() {
+                return curler.get(url);
+            }
+        });
+    }
+
+    @Override
+    public Either<String, Exception> get(final String url, final int timeoutMillis) {
+        return guarded(new Request<String>() {
+            @Override
+            public Either<String, Exception> send() {
+                return curler.get(url, timeoutMillis);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * The slot is released as soon as the response is available, reading the stream is not guarded.
+     */
+    @Override
+    public Either<InputStream, Exception> getStream(final String url) {
+        return guarded(new Request<InputStream>() {
+            @Override
+            public Either<InputStream, Exception> send() {
+                return curler.getStream(url);
+            }
+        });
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(final String url, final int timeoutMillis) {
+        return guarded(new Request<InputStream>() {
+            @Override
+            public Either<InputStream, Exception> send() {
+                return curler.getStream(url, timeoutMillis);
+            }
+        });
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    private <T> Either<T, Exception> guarded(Request<T> request) {
+        if (!bulkhead.tryAcquire()) {
+            return Either.right((Exception) new BulkheadFullException(bulkhead));
+        }
+        try {
+            return request.send();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private interface Request<T> {
+        Either<T, Exception> send();
+    }
+}
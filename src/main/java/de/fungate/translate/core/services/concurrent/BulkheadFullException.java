@@ -0,0 +1,16 @@
+package de.fungate.translate.core.services.concurrent;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Signals that a call was rejected, because the Bulkhead of its provider was saturated.
+ */
+public class BulkheadFullException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadFullException(Bulkhead bulkhead) {
+        super(String.format("Bulkhead %s is saturated (%d active, %d waiting)",
+                bulkhead.getName(), bulkhead.getActiveCount(), bulkhead.getWaitingCount()));
+    }
+}
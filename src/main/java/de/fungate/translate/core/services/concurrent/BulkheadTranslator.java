@@ -0,0 +1,76 @@
+package de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.ForwardingStagedTranslator;
+import de.fungate.translate.core.services.StagedTranslator;
+import fj.data.Either;
+import org.apache.log4j.Logger;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Guards the fetch stage of a provider with its own Bulkhead. Parsing is not guarded, it is bounded by the parse
+ * pool of the TranslationPipeline anyway. Rejected translations yield the empty set, just like failed requests do.
+ * @param <TContent> type of the content fetched by the guarded translator.
+ */
+public class BulkheadTranslator<TContent> extends ForwardingStagedTranslator<TContent> {
+
+    private static final Logger LOG = Logger.getLogger(BulkheadTranslator.class);
+
+    private final Bulkhead bulkhead;
+
+    /**
+     * Creates a new BulkheadTranslator.
+     * @param translator to be guarded.
+     * @param bulkhead used exclusively for the given translator.
+     */
+    public BulkheadTranslator(StagedTranslator<TContent> translator, Bulkhead bulkhead) {
+        super(translator);
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * Creates a BulkheadTranslator with a bulkhead of the given limits, named after the provider.
+     * @param translator to be guarded.
+     * @param maxConcurrent maximum number of fetches in flight.
+     * @param maxWaiting maximum number of fetches waiting for a free slot.
+     * @param maxWaitMillis maximum time a fetch waits for a free slot.
+     * @param <TContent> type of the content fetched by the guarded translator.
+     * @return the guarded translator.
+     */
+    public static <TContent> BulkheadTranslator<TContent> guard(StagedTranslator<TContent> translator,
+                                                                int maxConcurrent, int maxWaiting, long maxWaitMillis) {
+        return new BulkheadTranslator<>(translator,
+                new Bulkhead(translator.getProvider(), maxConcurrent, maxWaiting, maxWaitMillis));
+    }
+
+    @Override
+    public Either<TContent, Exception> fetch(String term, SourceLanguage source, int maxResults) {
+        if (!bulkhead.tryAcquire()) {
+            return Either.right((Exception) new BulkheadFullException(bulkhead));
+        }
+        try {
+            return super.fetch(term, source, maxResults);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage source, Either<TContent, Exception> content,
+                                  int maxResults) {
+        if (content.isRight() && content.right().value() instanceof BulkheadFullException) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Rejected translation of " + term + ": " + content.right().value().getMessage());
+            }
+            return Collections.emptySet();
+        }
+        return super.parse(term, source, content, maxResults);
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+}
@@ -0,0 +1,57 @@
+package de.fungate.translate.core.services.concurrent;
+
+/**
+ * Decides when a query fanned out to several providers has enough results to be answered without waiting for the
+ * remaining providers: as soon as minTranslations distinct translations are collected or minProviders providers
+ * have answered, whatever comes first.
+ */
+public class CompletionPolicy {
+
+    private final int minTranslations;
+    private final int minProviders;
+
+    /**
+     * Creates a new CompletionPolicy.
+     * @param minTranslations number of distinct translations which suffice, Integer.MAX_VALUE to ignore them.
+     * @param minProviders number of answered providers which suffice, Integer.MAX_VALUE to ignore them.
+     */
+    public CompletionPolicy(int minTranslations, int minProviders) {
+        if (minTranslations < 1 || minProviders < 1) {
+            throw new IllegalArgumentException("Completion thresholds must be positive");
+        }
+        this.minTranslations = minTranslations;
+        this.minProviders = minProviders;
+    }
+
+    /**
+     * @return a policy waiting for every provider.
+     */
+    public static CompletionPolicy all() {
+        return new CompletionPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param minTranslations number of distinct translations which suffice.
+     * @return a policy completing once minTranslations translations are collected.
+     */
+    public static CompletionPolicy afterTranslations(int minTranslations) {
+        return new CompletionPolicy(minTranslations, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param minProviders number of answered providers which suffice.
+     * @return a policy completing once minProviders providers have answered.
+     */
+    public static CompletionPolicy afterProviders(int minProviders) {
+        return new CompletionPolicy(Integer.MAX_VALUE, minProviders);
+    }
+
+    /**
+     * @param translations number of distinct translations collected so far.
+     * @param providers number of providers which have answered so far, including those which found nothing.
+     * @return true, iff the query may be answered now.
+     */
+    public boolean isComplete(int translations, int providers) {
+        return translations >= minTranslations || providers >= minProviders;
+    }
+}
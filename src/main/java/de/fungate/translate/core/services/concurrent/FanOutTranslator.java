@@ -0,0 +1,179 @@
+package de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.LimitedTranslator;
+import de.fungate.translate.core.services.ResultLimitingTranslator;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.ranking.RankedMerger;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asks several providers at once and merges their translations in the order the providers answer. As soon as the
+ * CompletionPolicy is satisfied or budgetMillis have passed, the translations collected so far are returned and the
+ * providers still working are cancelled: fetches not started yet are skipped, running ones are interrupted and
+ * their requests aborted where the Curler supports it (see CancellationToken). How often each provider was skipped
+ * this way is counted, a provider skipped most of the time is a candidate for removal.
+ * Given a RankedMerger, the result holds the maxResults best ranked translations, best first, instead of the plain
+ * union of all translations. LimitedTranslators are then asked for no more than maxResults translations each, so
+ * they neither fetch nor parse entries that could never make it into the result.
+ */
+public class FanOutTranslator implements Translator {
+
+    private static final Logger LOG = Logger.getLogger(FanOutTranslator.class);
+
+    private final List<Translator> translators;
+    private final TranslationPipeline pipeline;
+    private final CompletionPolicy policy;
+    private final long budgetMillis;
+    private final RankedMerger merger;
+    private final int maxResults;
+    private final Map<String, AtomicLong> skipped = new LinkedHashMap<>();
+
+    /**
+     * Creates a new FanOutTranslator.
+     * @param translators of the providers to ask.
+     * @param pipeline running the translations.
+     * @param policy deciding when enough translations are collected.
+     * @param budgetMillis maximum time a query takes.
+     */
+    public FanOutTranslator(List<Translator> translators, TranslationPipeline pipeline, CompletionPolicy policy,
+                            long budgetMillis) {
+        this(translators, pipeline, policy, budgetMillis, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new FanOutTranslator returning ranked translations.
+     * @param translators of the providers to ask.
+     * @param pipeline running the translations.
+     * @param policy deciding when enough translations are collected, counting them after deduplication.
+     * @param budgetMillis maximum time a query takes.
+     * @param merger ranking the translations of the providers, null for the plain union.
+     * @param maxResults maximum number of translations returned, also passed on to LimitedTranslators.
+     */
+    public FanOutTranslator(List<Translator> translators, TranslationPipeline pipeline, CompletionPolicy policy,
+                            long budgetMillis, RankedMerger merger, int maxResults) {
+        this.translators = merger == null ? new ArrayList<>(translators) : limit(translators, maxResults);
+        this.pipeline = pipeline;
+        this.policy = policy;
+        this.budgetMillis = budgetMillis;
+        this.merger = merger;
+        this.maxResults = maxResults;
+        for (Translator translator : translators) {
+            skipped.put(translator.getProvider(), new AtomicLong());
+        }
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        BlockingQueue<Future<Set<Translation>>> completions = new LinkedBlockingQueue<>();
+        Map<Future<Set<Translation>>, Translator> pending = new IdentityHashMap<>();
+        for (Translator translator : translators) {
+            pending.put(pipeline.submit(translator, term, source, completions), translator);
+        }
+
+        TranslationSet.Builder merged = TranslationSet.builder();
+        RankedMerger.Merge ranked = merger == null ? null : merger.start();
+        int answered = 0;
+        try {
+            while (!pending.isEmpty()
+                    && !policy.isComplete(ranked == null ? merged.size() : ranked.size(), answered)) {
+                Future<Set<Translation>> done = completions.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    break;
+                }
+                Translator translator = pending.remove(done);
+                Set<Translation> translations = result(done, translator);
+                if (translations == null) {
+                    continue;
+                }
+                if (ranked == null) {
+                    merged.addAll(translations);
+                } else {
+                    ranked.add(translator.getProvider(), translations);
+                }
+                answered++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Map.Entry<Future<Set<Translation>>, Translator> straggler : pending.entrySet()) {
+            straggler.getKey().cancel(true);
+            skipped.get(straggler.getValue().getProvider()).incrementAndGet();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Skipped " + straggler.getValue().getProvider() + " for " + term);
+            }
+        }
+        return ranked == null ? merged.build() : ranked.top(maxResults);
+    }
+
+    private static List<Translator> limit(List<Translator> translators, int maxResults) {
+        List<Translator> limited = new ArrayList<>(translators.size());
+        for (Translator translator : translators) {
+            if (translator instanceof LimitedTranslator && maxResults > 0 && maxResults < Integer.MAX_VALUE) {
+                limited.add(limit((LimitedTranslator<?>) translator, maxResults));
+            } else {
+                limited.add(translator);
+            }
+        }
+        return limited;
+    }
+
+    private static <TContent> Translator limit(LimitedTranslator<TContent> translator, int maxResults) {
+        return new ResultLimitingTranslator<>(translator, maxResults);
+    }
+
+    private static Set<Translation> result(Future<Set<Translation>> done, Translator translator) {
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            LOG.warn(translator.getProvider() + " failed", e.getCause());
+        } catch (CancellationException | InterruptedException e) {
+            // only we cancel, and the future is done already
+        }
+        return null;
+    }
+
+    @Override
+    public String getProvider() {
+        return "fan-out";
+    }
+
+    /**
+     * @param provider name of one of the translators.
+     * @return how often the provider was cancelled or not waited for, as the query was complete without it.
+     */
+    public long getSkippedCount(String provider) {
+        AtomicLong count = skipped.get(provider);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return the skip count per provider.
+     */
+    public Map<String, Long> getSkippedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> count : skipped.entrySet()) {
+            counts.put(count.getKey(), count.getValue().get());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+}
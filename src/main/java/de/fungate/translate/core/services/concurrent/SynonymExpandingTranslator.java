@@ -0,0 +1,155 @@
+package de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.synonymproviders.AsyncSynonymProvider;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Improves recall by translating a term together with some of its synonyms with several providers, within one
+ * latency budget. The synonyms are looked up while the term itself is already being translated by all providers;
+ * if they arrive within the first half of the budget, the shortest ones, usually the common words, are translated
+ * as well, up to maxFanout translations per query in total. Whatever has completed when the budget is used up is
+ * merged, the translations of the term itself first, the rest is cancelled.
+ */
+public class SynonymExpandingTranslator implements Translator {
+
+    private static final Logger LOG = Logger.getLogger(SynonymExpandingTranslator.class);
+
+    private static final Comparator<String> SHORTEST_FIRST = new Comparator<String>() {
+        @Override
+        public int compare(String a, String b) {
+            if (a.length() != b.length()) {
+                return a.length() - b.length();
+            }
+            return a.compareTo(b);
+        }
+    };
+
+    private final List<Translator> translators;
+    private final AsyncSynonymProvider synonyms;
+    private final TranslationPipeline pipeline;
+    private final long budgetMillis;
+    private final int maxSynonyms;
+    private final int maxFanout;
+
+    /**
+     * Creates a new SynonymExpandingTranslator.
+     * @param translators of the providers to ask.
+     * @param synonyms provider of the synonyms.
+     * @param pipeline running the translations.
+     * @param budgetMillis maximum time a query takes, including the synonym lookup.
+     * @param maxSynonyms maximum number of synonyms translated in addition to the term.
+     * @param maxFanout maximum number of translations per query, counting each provider and term.
+     */
+    public SynonymExpandingTranslator(List<Translator> translators, AsyncSynonymProvider synonyms,
+                                      TranslationPipeline pipeline, long budgetMillis, int maxSynonyms,
+                                      int maxFanout) {
+        this.translators = new ArrayList<>(translators);
+        this.synonyms = synonyms;
+        this.pipeline = pipeline;
+        this.budgetMillis = budgetMillis;
+        this.maxSynonyms = maxSynonyms;
+        this.maxFanout = maxFanout;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        // synonyms arriving later would leave their translations no time
+        long synonymDeadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis / 2);
+        Future<Set<String>> synonymsOfTerm = lookUpSynonyms(term, source);
+        List<Future<Set<Translation>>> pending = new ArrayList<>();
+        submit(term, source, pending);
+
+        for (String synonym : topSynonyms(await(synonymsOfTerm, synonymDeadline))) {
+            if (!submit(synonym, source, pending)) {
+                break;
+            }
+        }
+
+        TranslationSet.Builder merged = TranslationSet.builder();
+        for (Future<Set<Translation>> translations : pending) {
+            Set<Translation> result = await(translations, deadline);
+            if (result != null) {
+                merged.addAll(result);
+            }
+        }
+        return merged.build();
+    }
+
+    @Override
+    public String getProvider() {
+        return "synonym expansion";
+    }
+
+    private Future<Set<String>> lookUpSynonyms(String term, SourceLanguage source) {
+        if (maxSynonyms == 0) {
+            return null;
+        }
+        try {
+            return synonyms.getSynonymsAsync(term, source);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Could not schedule the synonym lookup of " + term, e);
+            return null;
+        }
+    }
+
+    private List<String> topSynonyms(Set<String> all) {
+        if (all == null || all.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> sorted = new ArrayList<>(all);
+        Collections.sort(sorted, SHORTEST_FIRST);
+        return sorted.subList(0, Math.min(maxSynonyms, sorted.size()));
+    }
+
+    /**
+     * Submits the translation of term with every provider, as long as the fanout allows.
+     * @return true, iff there is room for further translations.
+     */
+    private boolean submit(String term, SourceLanguage source, List<Future<Set<Translation>>> pending) {
+        for (Translator translator : translators) {
+            if (pending.size() >= maxFanout) {
+                return false;
+            }
+            pending.add(pipeline.submit(translator, term, source));
+        }
+        return pending.size() < maxFanout;
+    }
+
+    /**
+     * @return the result of the future, or null if it failed or is not done by the deadline, in which case it is
+     * cancelled.
+     */
+    private static <T> T await(Future<T> future, long deadline) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+        } catch (ExecutionException e) {
+            LOG.warn("Translation failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,307 @@
+package de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.CancellationToken;
+import de.fungate.translate.core.services.StagedTranslator;
+import de.fungate.translate.core.services.Translator;
+import fj.data.Either;
+import org.apache.log4j.Logger;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs translations as a two staged pipeline: The fetch stage does the network I/O of StagedTranslators on a
+ * thread pool meant for blocking calls, then hands the fetched content over a bounded queue to a parse pool sized
+ * after the number of CPUs. When the parse queue is full, fetch threads block on the hand-off, so slow parsing
+ * throttles fetching instead of piling up content in memory.
+ */
+public class TranslationPipeline {
+
+    private static final Logger LOG = Logger.getLogger(TranslationPipeline.class);
+
+    private final ExecutorService fetchExecutor;
+    private final ThreadPoolExecutor parseExecutor;
+    private final AtomicInteger maxParseQueueDepth = new AtomicInteger();
+    private final AtomicLong fetched = new AtomicLong();
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong blockedHandOffs = new AtomicLong();
+
+    /**
+     * Creates a pipeline with one parse thread per available processor.
+     * @param fetchThreads number of threads doing blocking network I/O.
+     * @param parseQueueCapacity maximum number of fetched, but not yet parsed contents.
+     */
+    public TranslationPipeline(int fetchThreads, int parseQueueCapacity) {
+        this(fetchThreads, Runtime.getRuntime().availableProcessors(), parseQueueCapacity);
+    }
+
+    /**
+     * Creates a new pipeline.
+     * @param fetchThreads number of threads doing blocking network I/O.
+     * @param parseThreads number of threads doing CPU bound parsing.
+     * @param parseQueueCapacity maximum number of fetched, but not yet parsed contents.
+     */
+    public TranslationPipeline(int fetchThreads, int parseThreads, int parseQueueCapacity) {
+        this.fetchExecutor = Executors.newFixedThreadPool(fetchThreads, new NamedThreadFactory("translate-fetch"));
+        this.parseExecutor = new ThreadPoolExecutor(parseThreads, parseThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(parseQueueCapacity),
+                new NamedThreadFactory("translate-parse"),
+                blockOnFullQueue);
+    }
+
+    /**
+     * Schedules the translation of term with the given translator. StagedTranslators are split into fetch and
+     * parse stage, any other Translator is run as a whole in the fetch stage.
+     * @param translator to do the translation.
+     * @param term to be translated.
+     * @param source SourceLanguage of the term.
+     * @return a Future of the set of translations, completed after the parse stage.
+     */
+    public Future<Set<Translation>> submit(Translator translator, String term, SourceLanguage source) {
+        return submit(translator, term, source, null);
+    }
+
+    /**
+     * Schedules the translation of term with the given translator, see submit(Translator, String, SourceLanguage).
+     * Cancelling the returned Future also cancels the CancellationToken bound to the translation, which aborts a
+     * request in flight and stops parsing early, and interrupts a fetch in progress.
+     * @param translator to do the translation.
+     * @param term to be translated.
+     * @param source SourceLanguage of the term.
+     * @param completions queue the returned Future is added to once it is done, e.g. to wait for the first of many.
+     *                    May be null.
+     * @return a Future of the set of translations, completed after the parse stage.
+     */
+    public Future<Set<Translation>> submit(final Translator translator, final String term,
+                                           final SourceLanguage source,
+                                           BlockingQueue<Future<Set<Translation>>> completions) {
+        if (translator instanceof StagedTranslator) {
+            return submitStaged((StagedTranslator<?>) translator, term, source, completions);
+        }
+        final CancellationToken token = new CancellationToken();
+        PipelineTask task = new PipelineTask(new Callable<Set<Translation>>() {
+            @Override
+            public Set<Translation> call() {
+                CancellationToken.Scope scope = token.bind();
+                try {
+                    return translator.translate(term, source);
+                } finally {
+                    scope.close();
+                }
+            }
+        }, token, completions);
+        execute(fetchExecutor, task, task);
+        return task;
+    }
+
+    private <T> Future<Set<Translation>> submitStaged(final StagedTranslator<T> translator,
+                                                      final String term, final SourceLanguage source,
+                                                      BlockingQueue<Future<Set<Translation>>> completions) {
+        final AtomicReference<Either<T, Exception>> content = new AtomicReference<>();
+        final CancellationToken token = new CancellationToken();
+        final PipelineTask parseTask = new PipelineTask(new Callable<Set<Translation>>() {
+            @Override
+            public Set<Translation> call() {
+                parsed.incrementAndGet();
+                CancellationToken.Scope scope = token.bind();
+                try {
+                    return translator.parse(term, source, content.get());
+                } finally {
+                    scope.close();
+                }
+            }
+        }, token, completions);
+        FutureTask<Void> fetchTask = new FutureTask<>(new Runnable() {
+            @Override
+            public void run() {
+                if (parseTask.isCancelled()) {
+                    return;
+                }
+                CancellationToken.Scope scope = token.bind();
+                try {
+                    content.set(translator.fetch(term, source));
+                } catch (RuntimeException e) {
+                    // the parse stage logs failed fetches as usual, we just must not lose the future
+                    content.set(Either.<T, Exception>right(e));
+                } finally {
+                    scope.close();
+                }
+                fetched.incrementAndGet();
+                if (!parseTask.isCancelled()) {
+                    handOff(parseTask);
+                }
+            }
+        }, null);
+        parseTask.fetchTask = fetchTask;
+        execute(fetchExecutor, fetchTask, parseTask);
+        return parseTask;
+    }
+
+    private void handOff(PipelineTask parseTask) {
+        if (!execute(parseExecutor, parseTask, parseTask)) {
+            return;
+        }
+        int depth = parseExecutor.getQueue().size();
+        int max = maxParseQueueDepth.get();
+        while (depth > max && !maxParseQueueDepth.compareAndSet(max, depth)) {
+            max = maxParseQueueDepth.get();
+        }
+    }
+
+    /**
+     * Runs a stage of the translation on the given executor. If the executor rejects it, the translation fails with
+     * the RejectedExecutionException, so no one waits for it in vain.
+     * @return true, iff the stage has been accepted.
+     */
+    private static boolean execute(ExecutorService executor, Runnable stage, PipelineTask translation) {
+        try {
+            executor.execute(stage);
+            return true;
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Pipeline is shut down, failing translation.", e);
+            translation.fail(e);
+            return false;
+        }
+    }
+
+    /**
+     * Lets the fetch thread wait for a free slot in the parse queue instead of rejecting the task.
+     */
+    private final RejectedExecutionHandler blockOnFullQueue = new RejectedExecutionHandler() {
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Parse executor has been shut down");
+            }
+            blockedHandOffs.incrementAndGet();
+            try {
+                executor.getQueue().put(r);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for the parse queue", e);
+            }
+        }
+    };
+
+    /**
+     * @return the number of fetched contents currently waiting to be parsed.
+     */
+    public int getParseQueueDepth() {
+        return parseExecutor.getQueue().size();
+    }
+
+    /**
+     * @return the highest parse queue depth observed since the pipeline was created.
+     */
+    public int getMaxParseQueueDepth() {
+        return maxParseQueueDepth.get();
+    }
+
+    /**
+     * @return how often a fetch thread had to wait because the parse queue was full.
+     */
+    public long getBlockedHandOffs() {
+        return blockedHandOffs.get();
+    }
+
+    /**
+     * @return the number of completed fetch stages.
+     */
+    public long getFetchedCount() {
+        return fetched.get();
+    }
+
+    /**
+     * @return the number of started parse stages.
+     */
+    public long getParsedCount() {
+        return parsed.get();
+    }
+
+    /**
+     * Stops accepting new translations. Already submitted ones are still fetched and parsed, translations submitted
+     * afterwards fail with a RejectedExecutionException.
+     */
+    public void shutdown() {
+        fetchExecutor.shutdown();
+        try {
+            fetchExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        parseExecutor.shutdown();
+    }
+
+    /**
+     * The Future handed out by submit. Cancels the token and the fetch stage along with itself and reports its
+     * completion.
+     */
+    private static final class PipelineTask extends FutureTask<Set<Translation>> {
+        private final CancellationToken token;
+        private final BlockingQueue<Future<Set<Translation>>> completions;
+        private volatile Future<?> fetchTask;
+
+        PipelineTask(Callable<Set<Translation>> callable, CancellationToken token,
+                     BlockingQueue<Future<Set<Translation>>> completions) {
+            super(callable);
+            this.token = token;
+            this.completions = completions;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                token.cancel();
+                Future<?> fetch = fetchTask;
+                if (fetch != null) {
+                    fetch.cancel(mayInterruptIfRunning);
+                }
+            }
+            return cancelled;
+        }
+
+        void fail(Exception e) {
+            setException(e);
+        }
+
+        @Override
+        protected void done() {
+            if (completions != null) {
+                completions.add(this);
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, prefix + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
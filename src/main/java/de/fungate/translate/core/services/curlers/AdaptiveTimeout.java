@@ -0,0 +1,87 @@
+package de.fungate.translate.core.services.curlers;
+
+import de.fungate.translate.core.services.metrics.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Derives the request timeout of one provider from its recent latency: Latencies are collected for windowMillis,
+ * then the timeout becomes the given percentile of them times multiplier, bounded by floorMillis and
+ * ceilingMillis, and the next window starts. Windows with fewer than minSamples requests are extended until enough
+ * requests have been seen. Until then, the timeout is ceilingMillis, so no slow but valid answer is dropped
+ * before the latency of the provider is known.
+ * Requests which ran into the timeout are recorded with the time they waited. If more of them time out than the
+ * percentile allows, the next timeout therefore grows by the multiplier, so a provider having a bad day is given
+ * more time instead of failing for good.
+ */
+public class AdaptiveTimeout {
+
+    private final double percentile;
+    private final double multiplier;
+    private final int floorMillis;
+    private final int ceilingMillis;
+    private final long windowMillis;
+    private final int minSamples;
+    private final Histogram latencies = new Histogram();
+    private final AtomicLong windowStart;
+    private volatile int timeoutMillis;
+
+    /**
+     * Creates a new AdaptiveTimeout.
+     * @param percentile of the latencies the timeout is based on, e.g. 99.
+     * @param multiplier applied to the percentile, e.g. 1.5 for some head room.
+     * @param floorMillis minimum timeout.
+     * @param ceilingMillis maximum timeout, also used until enough latencies have been recorded.
+     * @param windowMillis minimum time between two adjustments of the timeout.
+     * @param minSamples minimum number of latencies an adjustment is based on.
+     */
+    public AdaptiveTimeout(double percentile, double multiplier, int floorMillis, int ceilingMillis,
+                           long windowMillis, int minSamples) {
+        if (floorMillis < 1 || ceilingMillis < floorMillis) {
+            throw new IllegalArgumentException("Invalid timeout bounds");
+        }
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.floorMillis = floorMillis;
+        this.ceilingMillis = ceilingMillis;
+        this.windowMillis = windowMillis;
+        this.minSamples = Math.max(1, minSamples);
+        this.windowStart = new AtomicLong(now());
+        this.timeoutMillis = ceilingMillis;
+    }
+
+    /**
+     * Records the latency of a request which succeeded or timed out.
+     * @param nanos the request took.
+     */
+    public void record(long nanos) {
+        latencies.record(nanos);
+        long start = windowStart.get();
+        long now = now();
+        if (now - start >= windowMillis && latencies.getCount() >= minSamples
+                && windowStart.compareAndSet(start, now)) {
+            adjust();
+        }
+    }
+
+    private void adjust() {
+        long millis = TimeUnit.NANOSECONDS.toMillis(latencies.getValueAtPercentile(percentile));
+        latencies.reset();
+        timeoutMillis = (int) Math.max(floorMillis, Math.min(ceilingMillis, (long) Math.ceil(millis * multiplier)));
+    }
+
+    /**
+     * @return the timeout to apply to the next request.
+     */
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @return the current time in milliseconds. Overridable for testing.
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+}
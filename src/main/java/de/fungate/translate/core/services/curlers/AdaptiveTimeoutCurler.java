@@ -0,0 +1,62 @@
+package de.fungate.translate.core.services.curlers;
+
+import de.fungate.translate.core.services.Curler;
+import fj.data.Either;
+
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+
+/**
+ * Applies the AdaptiveTimeout of a provider to the requests its translator issues without an explicit timeout, and
+ * feeds the latency of every request back into it. Each translator gets its own instance, wrapping the shared
+ * Curler, so dict.cc is no longer waited for as long as woerterbuch.info needs on a bad day.
+ * Requests failing for other reasons than a timeout, e.g. a 404, are not recorded, as they say nothing about how
+ * long a valid answer takes.
+ */
+public class AdaptiveTimeoutCurler implements Curler {
+
+    private final Curler curler;
+    private final AdaptiveTimeout timeout;
+
+    public AdaptiveTimeoutCurler(Curler curler, AdaptiveTimeout timeout) {
+        this.curler = curler;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Either<String, Exception> get(String url) {
+        return get(url, timeout.getTimeoutMillis());
+    }
+
+    @Override
+    public Either<String, Exception> get(String url, int timeoutMillis) {
+        long start = System.nanoTime();
+        Either<String, Exception> result = curler.get(url, timeoutMillis);
+        record(start, result.isLeft() ? null : result.right().value());
+        return result;
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url) {
+        return getStream(url, timeout.getTimeoutMillis());
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url, int timeoutMillis) {
+        long start = System.nanoTime();
+        Either<InputStream, Exception> result = curler.getStream(url, timeoutMillis);
+        record(start, result.isLeft() ? null : result.right().value());
+        return result;
+    }
+
+    private void record(long start, Exception failure) {
+        // SocketTimeoutException and the ConnectTimeoutException of the ApacheHTTPCurler are InterruptedIOExceptions
+        if (failure == null || failure instanceof InterruptedIOException) {
+            timeout.record(System.nanoTime() - start);
+        }
+    }
+
+    public AdaptiveTimeout getTimeout() {
+        return timeout;
+    }
+}
@@ -1,11 +1,14 @@
 package de.fungate.translate.core.services.curlers;
 
+import de.fungate.translate.core.services.CancellationToken;
 import de.fungate.translate.core.services.Curler;
 import fj.data.Either;
+import org.apache.http.client.fluent.Content;
 import org.apache.http.client.fluent.Request;
 import org.apache.log4j.Logger;
 
 import java.io.InputStream;
+import java.util.concurrent.CancellationException;
 
 /**
  * Curler using the ApacheHTTPClient libraries to fulfill its duties.
@@ -28,19 +31,14 @@ public class ApacheHTTPCurler implements Curler {
      */
     @Override
     public Either<String, Exception> get(String url, int timeoutMillis) {
-        try {
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("get from " + url);
-            }
-            return Either.left(Request.Get(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0")
-                    .connectTimeout(timeoutMillis)
-                    .execute()
-                    .returnContent()
-                    .asString());
-        } catch (Exception e) {
-            return Either.right(e);
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("get from " + url);
+        }
+        Either<Content, Exception> content = execute(url, timeoutMillis);
+        if (content.isRight()) {
+            return Either.right(content.right().value());
         }
+        return Either.left(content.left().value().asString());
     }
 
     /**
@@ -48,18 +46,53 @@ public class ApacheHTTPCurler implements Curler {
      */
     @Override
     public Either<InputStream, Exception> getStream(String url) {
+        return getStream(url, 1000);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Either<InputStream, Exception> getStream(String url, int timeoutMillis) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("getStream from " + url);
+        }
+        Either<Content, Exception> content = execute(url, timeoutMillis);
+        if (content.isRight()) {
+            return Either.right(content.right().value());
+        }
+        return Either.left(content.left().value().asStream());
+    }
+
+    /**
+     * Issues the request, aborting it as soon as the CancellationToken of the current thread is cancelled.
+     * Requests of a cancelled translation fail with a CancellationException.
+     */
+    private Either<Content, Exception> execute(String url, int timeoutMillis) {
+        final Request request = Request.Get(url)
+                .userAgent("Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0")
+                .connectTimeout(timeoutMillis)
+                .socketTimeout(timeoutMillis);
+        CancellationToken.Registration abort = CancellationToken.onCurrentCancel(new Runnable() {
+            @Override
+            public void run() {
+                request.abort();
+            }
+        });
         try {
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("getStream from " + url);
+            if (CancellationToken.isCurrentCancelled()) {
+                return Either.right((Exception) new CancellationException("Cancelled before requesting " + url));
             }
-            return Either.left(Request.Get(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0")
-                    .connectTimeout(1000)
-                    .execute()
-                    .returnContent()
-                    .asStream());
+            return Either.left(request.execute().returnContent());
         } catch (Exception e) {
+            if (CancellationToken.isCurrentCancelled()) {
+                CancellationException cancelled = new CancellationException("Cancelled request to " + url);
+                cancelled.initCause(e);
+                return Either.right((Exception) cancelled);
+            }
             return Either.right(e);
+        } finally {
+            abort.close();
         }
     }
 
@@ -0,0 +1,87 @@
+package de.fungate.translate.core.services.curlers;
+
+import de.fungate.translate.core.services.Curler;
+import fj.data.Either;
+import org.apache.commons.io.IOUtils;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Curler writing every successful response of the decorated Curler to a RecordingStore, so it can be served later
+ * by a ReplayCurler or a local replay server. Failed requests are passed through, but not recorded.
+ */
+public class RecordingCurler implements Curler {
+
+    private static final Logger LOG = Logger.getLogger(RecordingCurler.class);
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final Curler curler;
+    private final RecordingStore store;
+
+    public RecordingCurler(Curler curler, RecordingStore store) {
+        this.curler = curler;
+        this.store = store;
+    }
+
+    @Override
+    public Either<String, Exception> get(String url) {
+        return record(url, curler.get(url));
+    }
+
+    @Override
+    public Either<String, Exception> get(String url, int timeoutMillis) {
+        return record(url, curler.get(url, timeoutMillis));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The stream is read completely to record it and then replaced by an in-memory copy.
+     */
+    @Override
+    public Either<InputStream, Exception> getStream(String url) {
+        return recordStream(url, curler.getStream(url));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The stream is read completely to record it and then replaced by an in-memory copy.
+     */
+    @Override
+    public Either<InputStream, Exception> getStream(String url, int timeoutMillis) {
+        return recordStream(url, curler.getStream(url, timeoutMillis));
+    }
+
+    private Either<InputStream, Exception> recordStream(String url, Either<InputStream, Exception> result) {
+        if (result.isRight()) {
+            return result;
+        }
+        byte[] body;
+        try (InputStream in = result.left().value()) {
+            body = IOUtils.toByteArray(in);
+        } catch (IOException e) {
+            return Either.right((Exception) e);
+        }
+        write(url, body);
+        return Either.left((InputStream) new ByteArrayInputStream(body));
+    }
+
+    private Either<String, Exception> record(String url, Either<String, Exception> result) {
+        if (result.isLeft()) {
+            write(url, result.left().value().getBytes(UTF8));
+        }
+        return result;
+    }
+
+    private void write(String url, byte[] body) {
+        try {
+            store.write(url, body);
+        } catch (IOException e) {
+            // the response is fine, only the recording failed
+            LOG.warn("Could not record " + url, e);
+        }
+    }
+}
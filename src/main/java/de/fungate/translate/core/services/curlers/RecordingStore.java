@@ -0,0 +1,70 @@
+package de.fungate.translate.core.services.curlers;
+
+import fj.data.Option;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Directory of recorded responses, one file per URL. The file name is the SHA-1 of the URL, so the recordings of
+ * different runs and machines line up and can be checked in.
+ */
+public class RecordingStore {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File directory;
+
+    /**
+     * @param directory to keep the recordings in, created on the first write.
+     */
+    public RecordingStore(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @param url of the recorded request.
+     * @return the recorded response body, or none if url has not been recorded.
+     * @throws IOException if the recording exists, but could not be read.
+     */
+    public Option<byte[]> read(String url) throws IOException {
+        File file = fileFor(url);
+        if (!file.isFile()) {
+            return Option.none();
+        }
+        return Option.some(FileUtils.readFileToByteArray(file));
+    }
+
+    /**
+     * Records a response body, replacing an earlier recording of the same url.
+     * @param url of the request.
+     * @param body of the response.
+     * @throws IOException if the recording could not be written.
+     */
+    public void write(String url, byte[] body) throws IOException {
+        FileUtils.writeByteArrayToFile(fileFor(url), body);
+    }
+
+    private File fileFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes("UTF-8"));
+            char[] name = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                name[2 * i] = HEX[(digest[i] >> 4) & 0xF];
+                name[2 * i + 1] = HEX[digest[i] & 0xF];
+            }
+            return new File(directory, new String(name));
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            // both are mandatory for every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
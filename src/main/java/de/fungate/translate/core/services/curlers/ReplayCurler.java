@@ -0,0 +1,67 @@
+package de.fungate.translate.core.services.curlers;
+
+import de.fungate.translate.core.services.Curler;
+import fj.data.Either;
+import fj.data.Option;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Curler answering from a RecordingStore instead of the network. Requests which have not been recorded fail with a
+ * FileNotFoundException, just like a 404 of the ApacheHTTPCurler.
+ */
+public class ReplayCurler implements Curler {
+
+    private final RecordingStore store;
+
+    public ReplayCurler(RecordingStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Either<String, Exception> get(String url) {
+        Either<byte[], Exception> body = read(url);
+        if (body.isRight()) {
+            return Either.right(body.right().value());
+        }
+        try {
+            return Either.left(new String(body.left().value(), "UTF-8"));
+        } catch (IOException e) {
+            return Either.right((Exception) e);
+        }
+    }
+
+    @Override
+    public Either<String, Exception> get(String url, int timeoutMillis) {
+        return get(url);
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url) {
+        Either<byte[], Exception> body = read(url);
+        if (body.isRight()) {
+            return Either.right(body.right().value());
+        }
+        return Either.left((InputStream) new ByteArrayInputStream(body.left().value()));
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url, int timeoutMillis) {
+        return getStream(url);
+    }
+
+    private Either<byte[], Exception> read(String url) {
+        try {
+            Option<byte[]> body = store.read(url);
+            if (body.isNone()) {
+                return Either.right((Exception) new FileNotFoundException("No recording of " + url));
+            }
+            return Either.left(body.some());
+        } catch (IOException e) {
+            return Either.right((Exception) e);
+        }
+    }
+}
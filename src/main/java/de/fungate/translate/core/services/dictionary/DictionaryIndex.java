@@ -0,0 +1,313 @@
+package de.fungate.translate.core.services.dictionary;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.Queries;
+import de.fungate.translate.core.services.Regexes;
+import de.fungate.translate.core.services.translators.DictccTranslator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * Read-only dictionary of translations in a memory mapped file written by DictionaryIndexBuilder.
+ * Opening maps the file and reads a fixed size header, so startup does not depend on the size of the dictionary.
+ * <p>
+ * The file holds every translation pair once and one sorted section of lookup keys per SourceLanguage, each
+ * entry pointing to its pair. Keys are front coded: every entry stores only the suffix by which it differs from its
+ * predecessor. Every RESTART_INTERVAL entries a key is stored in full and its position recorded, so a lookup
+ * binary searches these restart points and decodes at most a few entries linearly.
+ * <pre>
+ * header:   int magic, int version, int pairCount, int pairsOffset,
+ *           per language (english, german): int entriesOffset, int entryCount, int restartsOffset, int restartCount
+ * pairs:    varint length, english UTF-8, varint length, german UTF-8
+ * entries:  varint shared prefix length, varint suffix length, suffix UTF-8, varint pair offset
+ * restarts: int offset of every RESTART_INTERVAL-th entry, relative to entriesOffset
+ * </pre>
+ * Instances are thread safe.
+ */
+public class DictionaryIndex {
+
+    static final int MAGIC = 0x54444958; // "TDIX"
+    static final int VERSION = 1;
+    static final int RESTART_INTERVAL = 16;
+    static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final Pattern INFINITIVE_TO = Pattern.compile(Regexes.INFINITIVE_TO);
+
+    private final ByteBuffer buffer;
+    private final int pairCount;
+    private final int pairsOffset;
+    private final Section english;
+    private final Section german;
+
+    private DictionaryIndex(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a dictionary index of version " + VERSION);
+        }
+        pairCount = buffer.getInt(8);
+        pairsOffset = buffer.getInt(12);
+        english = new Section(buffer, 16);
+        german = new Section(buffer, 32);
+    }
+
+    /**
+     * Maps an index file into memory.
+     * @param file written by DictionaryIndexBuilder.
+     * @return the index.
+     * @throws IOException if the file could not be mapped or is no dictionary index.
+     */
+    public static DictionaryIndex open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            // the mapping stays valid after the channel is closed
+            return new DictionaryIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Wraps an index held in memory, e.g. for tests.
+     * @param index as written by DictionaryIndexBuilder.
+     * @return the index.
+     * @throws IOException if the bytes are no dictionary index.
+     */
+    public static DictionaryIndex wrap(byte[] index) throws IOException {
+        return new DictionaryIndex(ByteBuffer.wrap(index));
+    }
+
+    /**
+     * Computes the lookup key of a term: annotations like {f} or [Am.], digits, sb./sth./jd./etw. and, for English
+     * terms, a leading "to" are removed, the rest is normalized and folded to lower case.
+     * @param term to compute the key of.
+     * @param language of the term.
+     * @return the lookup key.
+     */
+    public static String key(String term, SourceLanguage language) {
+        String cleaned = clean(term);
+        if (language == SourceLanguage.ENGLISH) {
+            cleaned = INFINITIVE_TO.matcher(cleaned).replaceFirst("");
+        }
+        return Queries.fold(cleaned);
+    }
+
+    /**
+     * Removes garbage the same way the DictccTranslator does, so offline translations look like online ones.
+     */
+    static String clean(String term) {
+        String before;
+        do {
+            before = term;
+            term = DictccTranslator.MATCH_GARBAGE.matcher(term).replaceAll("");
+        } while (!before.equals(term));
+        return term.replaceAll(Regexes.WHITESPACE, " ").trim();
+    }
+
+    /**
+     * @param term to look up.
+     * @param source language of the term.
+     * @param limit maximum number of translations.
+     * @return all translations whose term in the source language has the same key as term, up to limit.
+     */
+    public TranslationSet lookup(String term, SourceLanguage source, int limit) {
+        byte[] target = key(term, source).getBytes(UTF8);
+        Cursor cursor = new Cursor(sectionFor(source));
+        cursor.seek(target);
+        TranslationSet.Builder translations = TranslationSet.builder();
+        while (translations.size() < limit && cursor.next()) {
+            int cmp = cursor.compareKeyTo(target);
+            if (cmp > 0) {
+                break;
+            }
+            if (cmp == 0) {
+                translations.add(cursor.pair());
+            }
+        }
+        return translations.build();
+    }
+
+    /**
+     * @param language of the keys.
+     * @param from the first key, need not exist.
+     * @return the distinct keys of the given language not less than from, in ascending order of their UTF-8 bytes.
+     */
+    public Iterator<String> keys(SourceLanguage language, String from) {
+        final byte[] start = from.getBytes(UTF8);
+        final Cursor cursor = new Cursor(sectionFor(language));
+        cursor.seek(start);
+        return new Iterator<String>() {
+            private String next = advance(null);
+
+            private String advance(String previous) {
+                while (cursor.next()) {
+                    if (cursor.compareKeyTo(start) < 0) {
+                        continue;
+                    }
+                    String key = cursor.key();
+                    if (!key.equals(previous)) {
+                        return key;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                String current = next;
+                next = advance(current);
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * @return the number of distinct translation pairs.
+     */
+    public int size() {
+        return pairCount;
+    }
+
+    private Section sectionFor(SourceLanguage language) {
+        return language == SourceLanguage.ENGLISH ? english : german;
+    }
+
+    private static final class Section {
+        private final int entriesOffset;
+        private final int entryCount;
+        private final int restartsOffset;
+        private final int restartCount;
+
+        private Section(ByteBuffer buffer, int headerOffset) {
+            entriesOffset = buffer.getInt(headerOffset);
+            entryCount = buffer.getInt(headerOffset + 4);
+            restartsOffset = buffer.getInt(headerOffset + 8);
+            restartCount = buffer.getInt(headerOffset + 12);
+        }
+    }
+
+    /**
+     * Decodes the entries of a section one after the other. Not thread safe, every lookup creates its own.
+     */
+    private final class Cursor {
+        private final Section section;
+        private final ByteBuffer in;
+        private byte[] key = new byte[64];
+        private int keyLength;
+        private int pairOffset;
+        private int remaining;
+
+        private Cursor(Section section) {
+            this.section = section;
+            this.in = buffer.duplicate();
+            this.remaining = section.entryCount;
+            in.position(section.entriesOffset);
+        }
+
+        /**
+         * Positions the cursor before the last restart point whose key is less than target, so that the first
+         * entry equal to target, if any, is among the next RESTART_INTERVAL entries.
+         */
+        private void seek(byte[] target) {
+            int low = 0;
+            int high = section.restartCount - 1;
+            int found = 0;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                in.position(section.entriesOffset + buffer.getInt(section.restartsOffset + 4 * mid));
+                keyLength = 0;
+                readEntry();
+                if (compareKeyTo(target) < 0) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            in.position(section.entriesOffset + (section.restartCount == 0
+                    ? 0 : buffer.getInt(section.restartsOffset + 4 * found)));
+            keyLength = 0;
+            remaining = section.entryCount - found * RESTART_INTERVAL;
+        }
+
+        private boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            readEntry();
+            return true;
+        }
+
+        private void readEntry() {
+            int shared = readVarint(in);
+            int suffix = readVarint(in);
+            keyLength = shared + suffix;
+            if (keyLength > key.length) {
+                byte[] grown = new byte[Math.max(keyLength, 2 * key.length)];
+                System.arraycopy(key, 0, grown, 0, shared);
+                key = grown;
+            }
+            in.get(key, shared, suffix);
+            pairOffset = readVarint(in);
+        }
+
+        private int compareKeyTo(byte[] target) {
+            int n = Math.min(keyLength, target.length);
+            for (int i = 0; i < n; i++) {
+                int cmp = (key[i] & 0xFF) - (target[i] & 0xFF);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return keyLength - target.length;
+        }
+
+        private String key() {
+            return new String(key, 0, keyLength, UTF8);
+        }
+
+        private Translation pair() {
+            ByteBuffer pair = buffer.duplicate();
+            pair.position(pairsOffset + pairOffset);
+            return new Translation(readString(pair), readString(pair));
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readVarint(in);
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, UTF8);
+    }
+
+    static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package de.fungate.translate.core.services.dictionary;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.fungate.translate.core.services.dictionary.DictionaryIndex.UTF8;
+
+/**
+ * Builds the file of a DictionaryIndex from translation pairs, usually read from a dict.cc export.
+ * Usage as a tool: DictionaryIndexBuilder export.txt index.bin
+ */
+public class DictionaryIndexBuilder {
+
+    private static final Logger LOG = Logger.getLogger(DictionaryIndexBuilder.class);
+    private static final int HEADER_LENGTH = 48;
+
+    private final ByteArrayOutputStream pairs = new ByteArrayOutputStream();
+    private final Map<String, Integer> pairOffsets = new HashMap<>();
+    private final List<Entry> englishEntries = new ArrayList<>();
+    private final List<Entry> germanEntries = new ArrayList<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DictionaryIndexBuilder export.txt index.bin");
+            System.exit(2);
+        }
+        DictionaryIndexBuilder builder = new DictionaryIndexBuilder();
+        try (Reader in = new InputStreamReader(new FileInputStream(args[0]), UTF8)) {
+            builder.readExport(in);
+        }
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            builder.write(out);
+        }
+        System.out.println("Indexed " + builder.size() + " translations into " + new File(args[1]).length() + " bytes");
+    }
+
+    /**
+     * Reads a tab separated dict.cc export: one translation per line, the terms of both languages in the first two
+     * columns, word class and subjects in further ones. Lines starting with # are comments. The column order is taken
+     * from a header comment like "# DE-EN vocabulary database", German first if there is none.
+     * @param export to read.
+     * @return this builder.
+     * @throws IOException if the export could not be read.
+     */
+    public DictionaryIndexBuilder readExport(Reader export) throws IOException {
+        BufferedReader in = new BufferedReader(export);
+        boolean germanFirst = true;
+        int skipped = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith("#")) {
+                if (line.contains("EN-DE")) {
+                    germanFirst = false;
+                } else if (line.contains("DE-EN")) {
+                    germanFirst = true;
+                }
+                continue;
+            }
+            String[] columns = line.split("\t");
+            if (columns.length < 2 || !(germanFirst ? add(columns[1], columns[0]) : add(columns[0], columns[1]))) {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            LOG.info("Skipped " + skipped + " lines without two usable terms");
+        }
+        return this;
+    }
+
+    /**
+     * Adds a translation pair, cleaned of annotations the way the DictccTranslator does.
+     * @param english term.
+     * @param german term.
+     * @return false, iff one of the terms is empty after cleaning.
+     */
+    public boolean add(String english, String german) {
+        String cleanEnglish = DictionaryIndex.clean(english);
+        String cleanGerman = DictionaryIndex.clean(german);
+        String englishKey = DictionaryIndex.key(cleanEnglish, SourceLanguage.ENGLISH);
+        String germanKey = DictionaryIndex.key(cleanGerman, SourceLanguage.GERMAN);
+        if (englishKey.isEmpty() || germanKey.isEmpty()) {
+            return false;
+        }
+        String pair = cleanEnglish + '\t' + cleanGerman;
+        Integer offset = pairOffsets.get(pair);
+        if (offset != null) {
+            return true;
+        }
+        offset = pairs.size();
+        pairOffsets.put(pair, offset);
+        writeString(pairs, cleanEnglish);
+        writeString(pairs, cleanGerman);
+        englishEntries.add(new Entry(englishKey.getBytes(UTF8), offset));
+        germanEntries.add(new Entry(germanKey.getBytes(UTF8), offset));
+        return true;
+    }
+
+    /**
+     * @return the number of distinct translation pairs added so far.
+     */
+    public int size() {
+        return pairOffsets.size();
+    }
+
+    /**
+     * Writes the index in the format described at DictionaryIndex.
+     * @param out to write to, not closed.
+     * @throws IOException if writing failed.
+     */
+    public void write(OutputStream out) throws IOException {
+        Encoded english = encode(englishEntries);
+        Encoded german = encode(germanEntries);
+        int pairsOffset = HEADER_LENGTH;
+        int englishOffset = pairsOffset + pairs.size();
+        int germanOffset = englishOffset + english.bytes.length;
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(DictionaryIndex.MAGIC);
+        data.writeInt(DictionaryIndex.VERSION);
+        data.writeInt(size());
+        data.writeInt(pairsOffset);
+        writeSectionHeader(data, englishOffset, englishEntries.size(), english);
+        writeSectionHeader(data, germanOffset, germanEntries.size(), german);
+        pairs.writeTo(data);
+        data.write(english.bytes);
+        data.write(german.bytes);
+        data.flush();
+    }
+
+    private static void writeSectionHeader(DataOutputStream data, int offset, int entryCount, Encoded section)
+            throws IOException {
+        data.writeInt(offset);
+        data.writeInt(entryCount);
+        // the restarts directly follow the entries
+        data.writeInt(offset + section.entriesLength);
+        data.writeInt(section.restartCount);
+    }
+
+    private static Encoded encode(List<Entry> entries) {
+        Collections.sort(entries, ENTRY_ORDER);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Integer> restarts = new ArrayList<>();
+        byte[] previous = new byte[0];
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            int shared = 0;
+            if (i % DictionaryIndex.RESTART_INTERVAL == 0) {
+                restarts.add(out.size());
+            } else {
+                int n = Math.min(previous.length, entry.key.length);
+                while (shared < n && previous[shared] == entry.key[shared]) {
+                    shared++;
+                }
+            }
+            writeVarint(out, shared);
+            writeVarint(out, entry.key.length - shared);
+            out.write(entry.key, shared, entry.key.length - shared);
+            writeVarint(out, entry.pairOffset);
+            previous = entry.key;
+        }
+        int entriesLength = out.size();
+        for (int restart : restarts) {
+            out.write(restart >>> 24);
+            out.write(restart >>> 16);
+            out.write(restart >>> 8);
+            out.write(restart);
+        }
+        return new Encoded(out.toByteArray(), entriesLength, restarts.size());
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        byte[] bytes = s.getBytes(UTF8);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static final Comparator<Entry> ENTRY_ORDER = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry a, Entry b) {
+            int n = Math.min(a.key.length, b.key.length);
+            for (int i = 0; i < n; i++) {
+                int cmp = (a.key[i] & 0xFF) - (b.key[i] & 0xFF);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            if (a.key.length != b.key.length) {
+                return a.key.length - b.key.length;
+            }
+            return a.pairOffset - b.pairOffset;
+        }
+    };
+
+    private static final class Entry {
+        private final byte[] key;
+        private final int pairOffset;
+
+        private Entry(byte[] key, int pairOffset) {
+            this.key = key;
+            this.pairOffset = pairOffset;
+        }
+    }
+
+    private static final class Encoded {
+        private final byte[] bytes;
+        private final int entriesLength;
+        private final int restartCount;
+
+        private Encoded(byte[] bytes, int entriesLength, int restartCount) {
+            this.bytes = bytes;
+            this.entriesLength = entriesLength;
+            this.restartCount = restartCount;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package de.fungate.translate.core.services.dictionary;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.Translator;
+
+import java.util.Set;
+
+/**
+ * Translator answering from a local DictionaryIndex, without any network access. Combine it with the
+ * DictccTranslator in a FallbackTranslator to go online only for terms missing in the dictionary.
+ */
+public class DictionaryTranslator implements Translator {
+
+    private static final int LIMIT = 10;
+
+    private final DictionaryIndex index;
+
+    public DictionaryTranslator(DictionaryIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        return index.lookup(term, source, LIMIT);
+    }
+
+    @Override
+    public String getProvider() {
+        return "dict.cc offline";
+    }
+}
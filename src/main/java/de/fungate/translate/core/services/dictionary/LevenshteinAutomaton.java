@@ -0,0 +1,165 @@
+package de.fungate.translate.core.services.dictionary;
+
+import java.util.Arrays;
+
+/**
+ * Automaton accepting all strings within a maximum Levenshtein distance of a word, optionally counting the swap of
+ * two adjacent characters as a single edit, the most common typo. It is evaluated lazily: a state is the row of the
+ * edit distance matrix after the input consumed so far, capped at maxDistance + 1, together with the row before and
+ * the last character, which are needed for transpositions.
+ * <p>
+ * Besides matching, it finds the smallest accepted string greater than or equal to some input, which allows to
+ * intersect it with a sorted dictionary by leapfrogging: the dictionary seeks to the next candidate of the
+ * automaton, the automaton to the next key of the dictionary, without visiting the keys in between.
+ */
+public class LevenshteinAutomaton {
+
+    private final char[] word;
+    private final char[] alphabet;
+    private final int maxDistance;
+    private final boolean transpositions;
+
+    /**
+     * @param word to match.
+     * @param maxDistance maximum number of edits.
+     * @param transpositions whether swapping two adjacent characters counts as one edit instead of two.
+     */
+    public LevenshteinAutomaton(String word, int maxDistance, boolean transpositions) {
+        this.word = word.toCharArray();
+        this.maxDistance = maxDistance;
+        this.transpositions = transpositions;
+        char[] sorted = this.word.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        this.alphabet = Arrays.copyOf(sorted, n);
+    }
+
+    /**
+     * @param s to measure.
+     * @return the edit distance of s to the word, or maxDistance + 1 if it exceeds maxDistance.
+     */
+    public int distance(String s) {
+        State state = start();
+        for (int i = 0; i < s.length() && state != null; i++) {
+            state = step(state, s.charAt(i));
+        }
+        return state == null ? maxDistance + 1 : state.row[word.length];
+    }
+
+    /**
+     * @param input any string.
+     * @return the smallest string not less than input which is within maxDistance of the word, or null if none is.
+     */
+    public String nextMatch(String input) {
+        // states after each prefix of input, as far as input can be followed without exceeding maxDistance
+        State[] states = new State[input.length() + 1];
+        states[0] = start();
+        int depth = 0;
+        while (depth < input.length()) {
+            State next = step(states[depth], input.charAt(depth));
+            if (next == null) {
+                break;
+            }
+            states[++depth] = next;
+        }
+        if (depth == input.length() && isMatch(states[depth])) {
+            return input;
+        }
+        // Wall following: try to leave the path of input at the deepest position with a greater character,
+        // then complete with the smallest characters which lead to a match.
+        StringBuilder path = new StringBuilder(input.substring(0, depth));
+        int from = depth < input.length() ? input.charAt(depth) + 1 : 0;
+        while (true) {
+            int c = nextEdge(states[depth], from);
+            if (c >= 0) {
+                State state = step(states[depth], (char) c);
+                path.append((char) c);
+                if (isMatch(state)) {
+                    return path.toString();
+                }
+                if (++depth == states.length) {
+                    states = Arrays.copyOf(states, 2 * states.length);
+                }
+                states[depth] = state;
+                from = 0;
+            } else {
+                if (depth == 0) {
+                    return null;
+                }
+                depth--;
+                from = path.charAt(depth) + 1;
+                path.setLength(depth);
+            }
+        }
+    }
+
+    private State start() {
+        int[] row = new int[word.length + 1];
+        for (int i = 0; i <= word.length; i++) {
+            row[i] = Math.min(i, maxDistance + 1);
+        }
+        return new State(row, null, (char) 0);
+    }
+
+    /**
+     * @return the state after consuming c, or null if no continuation can be within maxDistance any more.
+     */
+    private State step(State state, char c) {
+        int[] row = state.row;
+        int[] next = new int[row.length];
+        next[0] = Math.min(row[0] + 1, maxDistance + 1);
+        int min = next[0];
+        for (int i = 1; i < row.length; i++) {
+            int cost = word[i - 1] == c ? 0 : 1;
+            next[i] = Math.min(Math.min(row[i - 1] + cost, row[i] + 1), Math.min(next[i - 1] + 1, maxDistance + 1));
+            if (transpositions && state.previous != null && i > 1
+                    && word[i - 1] == state.last && word[i - 2] == c) {
+                next[i] = Math.min(next[i], state.previous[i - 2] + 1);
+            }
+            min = Math.min(min, next[i]);
+        }
+        // a row whose minimum exceeds maxDistance cannot be undercut by a later transposition either
+        return min > maxDistance ? null : new State(next, row, c);
+    }
+
+    private boolean isMatch(State state) {
+        return state.row[word.length] <= maxDistance;
+    }
+
+    /**
+     * @return the smallest character not less than from with a live transition, or -1 if there is none.
+     */
+    private int nextEdge(State state, int from) {
+        if (from > Character.MAX_VALUE) {
+            return -1;
+        }
+        // all characters outside the word behave alike, so only from itself and the greater word characters differ
+        if (step(state, (char) from) != null) {
+            return from;
+        }
+        int i = Arrays.binarySearch(alphabet, (char) from);
+        for (i = i >= 0 ? i + 1 : -i - 1; i < alphabet.length; i++) {
+            if (step(state, alphabet[i]) != null) {
+                return alphabet[i];
+            }
+        }
+        return -1;
+    }
+
+    private static final class State {
+        private final int[] row;
+        private final int[] previous;
+        private final char last;
+
+        private State(int[] row, int[] previous, char last) {
+            this.row = row;
+            this.previous = previous;
+            this.last = last;
+        }
+    }
+}
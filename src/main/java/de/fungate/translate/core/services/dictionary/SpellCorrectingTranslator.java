@@ -0,0 +1,43 @@
+package de.fungate.translate.core.services.dictionary;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.ForwardingTranslator;
+import de.fungate.translate.core.services.Translator;
+import org.apache.log4j.Logger;
+
+import java.util.Set;
+
+/**
+ * Consults the local dictionary before the decorated translator is invoked, so a typo costs no provider call. Known
+ * terms are passed on unchanged. An unknown term with exactly one known term within an edit distance of 1 is
+ * replaced by that term's headword as stored in the dictionary, e.g. "Häuschen" for "Hauschen", not its case folded
+ * lookup key. Any other term is passed on as entered, as a guess among several or more distant spellings would
+ * often be wrong, and the dictionary may just lack the term.
+ */
+public class SpellCorrectingTranslator extends ForwardingTranslator {
+
+    private static final Logger LOG = Logger.getLogger(SpellCorrectingTranslator.class);
+
+    private final SpellingCorrector corrector;
+
+    public SpellCorrectingTranslator(Translator translator, SpellingCorrector corrector) {
+        super(translator);
+        this.corrector = corrector;
+    }
+
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source) {
+        if (corrector.isKnown(term, source)) {
+            return super.translate(term, source);
+        }
+        String correction = corrector.correct(term, source);
+        if (correction == null) {
+            return super.translate(term, source);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Corrected " + term + " to " + correction);
+        }
+        return super.translate(correction, source);
+    }
+}
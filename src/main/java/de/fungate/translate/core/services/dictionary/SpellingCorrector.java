@@ -0,0 +1,116 @@
+package de.fungate.translate.core.services.dictionary;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Proposes corrections of misspelled terms from the keys of a DictionaryIndex, by intersecting a
+ * LevenshteinAutomaton of the term with the sorted keys. Swapped adjacent characters count as one edit. Short terms
+ * are too ambiguous to correct: terms shorter than 3 characters are not corrected at all, terms shorter than 6 only
+ * by a distance of 1.
+ */
+public class SpellingCorrector {
+
+    // bounds the work for short terms in dense regions of the dictionary
+    private static final int MAX_CANDIDATES = 200;
+
+    private final DictionaryIndex index;
+    private final int maxDistance;
+
+    /**
+     * @param index whose keys are the known terms.
+     * @param maxDistance maximum edit distance of a correction, usually 1 or 2.
+     */
+    public SpellingCorrector(DictionaryIndex index, int maxDistance) {
+        this.index = index;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * @param term to look up.
+     * @param language of the term.
+     * @return true, iff the dictionary knows the term.
+     */
+    public boolean isKnown(String term, SourceLanguage language) {
+        String key = DictionaryIndex.key(term, language);
+        Iterator<String> keys = index.keys(language, key);
+        return keys.hasNext() && keys.next().equals(key);
+    }
+
+    /**
+     * @param key as returned by suggest.
+     * @param language of the key.
+     * @return the term stored for key without its annotations, e.g. "Häuschen" for "häuschen"; key itself if it is
+     * unknown.
+     */
+    public String headword(String key, SourceLanguage language) {
+        for (Translation pair : index.lookup(key, language, 1)) {
+            return DictionaryIndex.clean(language == SourceLanguage.ENGLISH ? pair.getEnglish() : pair.getGerman());
+        }
+        return key;
+    }
+
+    /**
+     * @param term to correct.
+     * @param language of the term.
+     * @return the headword of the only known term within an edit distance of 1 of term, e.g. "Häuschen" for
+     * "Hauschen"; null if term is known, there is no such term or there are several, so the correction is a guess.
+     */
+    public String correct(String term, SourceLanguage language) {
+        String key = DictionaryIndex.key(term, language);
+        List<String> closest = matches(key, Math.min(1, distanceFor(key)), language, 2);
+        if (closest.size() != 1 || closest.get(0).equals(key)) {
+            return null;
+        }
+        return headword(closest.get(0), language);
+    }
+
+    /**
+     * @param term to correct.
+     * @param language of the term.
+     * @param limit maximum number of corrections.
+     * @return the known lookup keys closest to term, closest first; term's own key if it is known.
+     */
+    public List<String> suggest(String term, SourceLanguage language, int limit) {
+        String key = DictionaryIndex.key(term, language);
+        return matches(key, distanceFor(key), language, limit);
+    }
+
+    private int distanceFor(String key) {
+        return Math.min(maxDistance, key.length() < 3 ? 0 : key.length() < 6 ? 1 : 2);
+    }
+
+    private List<String> matches(String key, int distance, SourceLanguage language, int limit) {
+        final LevenshteinAutomaton automaton = new LevenshteinAutomaton(key, distance, true);
+
+        List<String> matches = new ArrayList<>();
+        String candidate = automaton.nextMatch("");
+        while (candidate != null && matches.size() < MAX_CANDIDATES) {
+            Iterator<String> keys = index.keys(language, candidate);
+            if (!keys.hasNext()) {
+                break;
+            }
+            String next = keys.next();
+            if (next.equals(candidate)) {
+                matches.add(next);
+                candidate = automaton.nextMatch(next + '\0');
+            } else {
+                candidate = automaton.nextMatch(next);
+            }
+        }
+
+        Collections.sort(matches, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                return automaton.distance(a) - automaton.distance(b);
+            }
+        });
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+}
@@ -0,0 +1,112 @@
+package de.fungate.translate.core.services.metrics;
+
+import de.fungate.translate.core.services.Curler;
+import fj.data.Either;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Records latency and response size of every request of the decorated Curler into the metrics of one provider.
+ * Failed requests count for the latency, but not for the size.
+ */
+public class InstrumentedCurler implements Curler {
+
+    private final Curler curler;
+    private final String provider;
+    private final TranslationMetrics metrics;
+
+    public InstrumentedCurler(Curler curler, String provider, TranslationMetrics metrics) {
+        this.curler = curler;
+        this.provider = provider;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Either<String, Exception> get(String url) {
+        if (!metrics.isEnabled()) {
+            return curler.get(url);
+        }
+        long start = System.nanoTime();
+        Either<String, Exception> result = curler.get(url);
+        record(start, result.isLeft() ? utf8Length(result.left().value()) : -1);
+        return result;
+    }
+
+    @Override
+    public Either<String, Exception> get(String url, int timeoutMillis) {
+        if (!metrics.isEnabled()) {
+            return curler.get(url, timeoutMillis);
+        }
+        long start = System.nanoTime();
+        Either<String, Exception> result = curler.get(url, timeoutMillis);
+        record(start, result.isLeft() ? utf8Length(result.left().value()) : -1);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The response size is taken from InputStream.available(), which is exact for the in-memory streams of the
+     * ApacheHTTPCurler, but a lower bound for truly streaming implementations.
+     */
+    @Override
+    public Either<InputStream, Exception> getStream(String url) {
+        if (!metrics.isEnabled()) {
+            return curler.getStream(url);
+        }
+        long start = System.nanoTime();
+        Either<InputStream, Exception> result = curler.getStream(url);
+        record(start, result.isLeft() ? available(result.left().value()) : -1);
+        return result;
+    }
+
+    @Override
+    public Either<InputStream, Exception> getStream(String url, int timeoutMillis) {
+        if (!metrics.isEnabled()) {
+            return curler.getStream(url, timeoutMillis);
+        }
+        long start = System.nanoTime();
+        Either<InputStream, Exception> result = curler.getStream(url, timeoutMillis);
+        record(start, result.isLeft() ? available(result.left().value()) : -1);
+        return result;
+    }
+
+    private void record(long start, long bytes) {
+        ProviderMetrics m = metrics.forProvider(provider);
+        m.getFetchNanos().record(System.nanoTime() - start);
+        if (bytes >= 0) {
+            m.getBytesReceived().record(bytes);
+        }
+    }
+
+    /**
+     * Counts the bytes of the UTF-8 encoding of a page without encoding it, as a copy of every page would cost more
+     * than the request is worth measuring.
+     */
+    private static long utf8Length(String s) {
+        long bytes = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static long available(InputStream in) {
+        try {
+            return in.available();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package de.fungate.translate.core.services.metrics;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.ForwardingStagedTranslator;
+import de.fungate.translate.core.services.StagedTranslator;
+import fj.data.Either;
+
+import java.util.Set;
+
+/**
+ * Records latency and result count of the parse stage of the decorated translator. Fetch latency is recorded by the
+ * InstrumentedCurler of the translator, so a slow lookup can be attributed to either the network or the parsing.
+ * @param <TContent> type of the content fetched by the decorated translator.
+ */
+public class InstrumentedTranslator<TContent> extends ForwardingStagedTranslator<TContent> {
+
+    private final TranslationMetrics metrics;
+
+    public InstrumentedTranslator(StagedTranslator<TContent> translator, TranslationMetrics metrics) {
+        super(translator);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage source, Either<TContent, Exception> content,
+                                  int maxResults) {
+        if (!metrics.isEnabled() || content.isRight()) {
+            return super.parse(term, source, content, maxResults);
+        }
+        long start = System.nanoTime();
+        Set<Translation> translations = super.parse(term, source, content, maxResults);
+        ProviderMetrics m = metrics.forProvider(getProvider());
+        m.getParseNanos().record(System.nanoTime() - start);
+        m.getResultCount().record(translations.size());
+        return translations;
+    }
+}
@@ -0,0 +1,36 @@
+package de.fungate.translate.core.services.metrics;
+
+import org.apache.log4j.Logger;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Logs p50, p99 and p999 of every histogram on info level, one line per provider and histogram.
+ */
+public class LogMetricsExporter implements MetricsExporter {
+
+    private static final Logger LOG = Logger.getLogger(LogMetricsExporter.class);
+
+    @Override
+    public void export(Collection<ProviderMetrics> metrics) {
+        if (!LOG.isInfoEnabled()) {
+            return;
+        }
+        for (ProviderMetrics m : metrics) {
+            log(m.getProvider(), "fetch ms", m.getFetchNanos(), 1e6);
+            log(m.getProvider(), "bytes", m.getBytesReceived(), 1);
+            log(m.getProvider(), "parse ms", m.getParseNanos(), 1e6);
+            log(m.getProvider(), "results", m.getResultCount(), 1);
+        }
+    }
+
+    private static void log(String provider, String name, Histogram h, double scale) {
+        LOG.info(String.format(Locale.ROOT, "%s %s: n=%d p50=%.3f p99=%.3f p999=%.3f max=%.3f",
+                provider, name, h.getCount(),
+                h.getValueAtPercentile(50) / scale,
+                h.getValueAtPercentile(99) / scale,
+                h.getValueAtPercentile(99.9) / scale,
+                h.getMax() / scale));
+    }
+}
@@ -0,0 +1,16 @@
+package de.fungate.translate.core.services.metrics;
+
+import java.util.Collection;
+
+/**
+ * Implementing classes publish the recorded metrics, e.g. to a log or a monitoring system.
+ */
+public interface MetricsExporter {
+
+    /**
+     * Publishes the current state of the metrics of all providers.
+     * @param metrics of all providers which have recorded anything so far.
+     */
+    void export(Collection<ProviderMetrics> metrics);
+
+}
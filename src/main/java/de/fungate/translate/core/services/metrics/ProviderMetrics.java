@@ -0,0 +1,50 @@
+package de.fungate.translate.core.services.metrics;
+
+/**
+ * The histograms recorded for a single provider.
+ * Latencies are in nanoseconds, sizes in bytes and result counts in translations.
+ */
+public class ProviderMetrics {
+
+    private final String provider;
+    private final Histogram fetchNanos = new Histogram();
+    private final Histogram bytesReceived = new Histogram();
+    private final Histogram parseNanos = new Histogram();
+    private final Histogram resultCount = new Histogram();
+
+    public ProviderMetrics(String provider) {
+        this.provider = provider;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * @return the latency of Curler requests, recorded by an InstrumentedCurler.
+     */
+    public Histogram getFetchNanos() {
+        return fetchNanos;
+    }
+
+    /**
+     * @return the size of successful Curler responses, recorded by an InstrumentedCurler.
+     */
+    public Histogram getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * @return the latency of the parse stage, recorded by an InstrumentedTranslator.
+     */
+    public Histogram getParseNanos() {
+        return parseNanos;
+    }
+
+    /**
+     * @return the number of translations per parsed response, recorded by an InstrumentedTranslator.
+     */
+    public Histogram getResultCount() {
+        return resultCount;
+    }
+}
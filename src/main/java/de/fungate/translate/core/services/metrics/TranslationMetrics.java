@@ -0,0 +1,74 @@
+package de.fungate.translate.core.services.metrics;
+
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.StagedTranslator;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the ProviderMetrics of all providers. Recording can be switched off at runtime, in which case the
+ * instrumented Curlers and Translators skip even reading the clock, so the remaining overhead is one volatile read.
+ */
+public class TranslationMetrics {
+
+    private final ConcurrentMap<String, ProviderMetrics> providers = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public TranslationMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param provider name as returned by Translator.getProvider().
+     * @return the metrics of the provider, created on first use.
+     */
+    public ProviderMetrics forProvider(String provider) {
+        ProviderMetrics metrics = providers.get(provider);
+        if (metrics == null) {
+            ProviderMetrics created = new ProviderMetrics(provider);
+            metrics = providers.putIfAbsent(provider, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Instruments a translator and the curler it fetches with. As the curler cannot know for which provider it
+     * fetches, every provider needs a Curler instance of its own to be instrumented.
+     * @param translator to record parse latency and result count of.
+     * @param <TContent> type of the content fetched by the translator.
+     * @return the instrumented translator.
+     */
+    public <TContent> InstrumentedTranslator<TContent> instrument(StagedTranslator<TContent> translator) {
+        return new InstrumentedTranslator<>(translator, this);
+    }
+
+    /**
+     * @param curler to record fetch latency and response size of.
+     * @param provider for which the curler fetches.
+     * @return the instrumented curler.
+     */
+    public InstrumentedCurler instrument(Curler curler, String provider) {
+        return new InstrumentedCurler(curler, provider, this);
+    }
+
+    /**
+     * Hands the metrics of all providers to an exporter.
+     * @param exporter to publish the metrics.
+     */
+    public void export(MetricsExporter exporter) {
+        exporter.export(new ArrayList<>(providers.values()));
+    }
+}
@@ -0,0 +1,160 @@
+package de.fungate.translate.core.services.ranking;
+
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.Queries;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the translations of several providers into a ranked top K. Translations are deduplicated after
+ * normalization of both sides, so "Wall"/"Wand" of one provider and "wall"/" Wand" of another count as one.
+ * Each translation scores the summed weight of the providers which returned it, i.e. how many providers agree on it
+ * if all weigh 1. The top K are selected with a heap of at most K entries in one pass over the distinct
+ * translations, so merging a large fan-out costs O(n log K) instead of sorting everything.
+ * The result is ordered by descending score, ties by the natural order of Translation, so it does not depend on
+ * the order in which the providers answered.
+ */
+public class RankedMerger {
+
+    /**
+     * Ascending rank: lowest score first, among equal scores the translation sorting last first. The root of a heap
+     * ordered by it is the entry to drop once the heap is full.
+     */
+    private static final Comparator<Candidate> ASCENDING_RANK = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate a, Candidate b) {
+            int byScore = Double.compare(a.score, b.score);
+            return byScore != 0 ? byScore : b.translation.compareTo(a.translation);
+        }
+    };
+
+    private final Map<String, Double> weights;
+    private final double defaultWeight;
+    private final boolean foldCase;
+
+    /**
+     * Creates a new RankedMerger.
+     * @param weights of the providers by name, as returned by Translator.getProvider().
+     * @param defaultWeight of providers without a weight.
+     * @param foldCase whether translations differing only in case are the same.
+     */
+    public RankedMerger(Map<String, Double> weights, double defaultWeight, boolean foldCase) {
+        this.weights = new HashMap<>(weights);
+        this.defaultWeight = defaultWeight;
+        this.foldCase = foldCase;
+    }
+
+    /**
+     * @return a merge of a single query, to which the providers add their results.
+     */
+    public Merge start() {
+        return new Merge();
+    }
+
+    private double weightOf(String provider) {
+        Double weight = weights.get(provider);
+        return weight == null ? defaultWeight : weight;
+    }
+
+    private String normalize(String term) {
+        return foldCase ? Queries.fold(term) : Queries.normalize(term);
+    }
+
+    /**
+     * The translations collected for one query. Not thread safe.
+     */
+    public final class Merge {
+        private final Map<String, Candidate> candidates = new HashMap<>();
+        private int added;
+
+        private Merge() {
+        }
+
+        /**
+         * Adds the results of a provider. A provider adding the same translation twice counts once.
+         * @param provider name of the provider.
+         * @param translations returned by the provider.
+         * @return this merge.
+         */
+        public Merge add(String provider, Collection<Translation> translations) {
+            double weight = weightOf(provider);
+            int id = added++;
+            for (Translation translation : translations) {
+                String key = normalize(translation.getEnglish()) + '\t' + normalize(translation.getGerman());
+                Candidate candidate = candidates.get(key);
+                if (candidate == null) {
+                    candidate = new Candidate(translation);
+                    candidates.put(key, candidate);
+                }
+                candidate.vote(id, weight, translation);
+            }
+            return this;
+        }
+
+        /**
+         * @return the number of distinct translations so far.
+         */
+        public int size() {
+            return candidates.size();
+        }
+
+        /**
+         * @param k maximum number of translations.
+         * @return the k best translations, best first.
+         */
+        public TranslationSet top(int k) {
+            if (k < 1 || candidates.isEmpty()) {
+                return TranslationSet.of();
+            }
+            PriorityQueue<Candidate> heap = new PriorityQueue<>(Math.min(k, candidates.size()), ASCENDING_RANK);
+            for (Candidate candidate : candidates.values()) {
+                if (heap.size() < k) {
+                    heap.add(candidate);
+                } else if (ASCENDING_RANK.compare(candidate, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            }
+            Translation[] ranked = new Translation[heap.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = heap.poll().translation;
+            }
+            TranslationSet.Builder builder = TranslationSet.builder(ranked.length);
+            for (Translation translation : ranked) {
+                builder.add(translation);
+            }
+            return builder.build();
+        }
+    }
+
+    private static final class Candidate {
+        private Translation translation;
+        private double score;
+        private double bestWeight = Double.NEGATIVE_INFINITY;
+        private int lastProvider = -1;
+
+        Candidate(Translation translation) {
+            this.translation = translation;
+        }
+
+        /**
+         * Counts the weight of a provider once and keeps the spelling of the heaviest provider, ties broken by the
+         * natural order, so the spelling does not depend on the order of the providers either.
+         */
+        void vote(int provider, double weight, Translation spelling) {
+            if (provider != lastProvider) {
+                lastProvider = provider;
+                score += weight;
+            }
+            if (weight > bestWeight || (weight == bestWeight && spelling.compareTo(translation) < 0)) {
+                bestWeight = weight;
+                translation = spelling;
+            }
+        }
+    }
+}
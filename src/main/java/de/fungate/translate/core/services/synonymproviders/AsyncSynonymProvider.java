@@ -0,0 +1,106 @@
+package de.fungate.translate.core.services.synonymproviders;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.SynonymProvider;
+import org.apache.log4j.Logger;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the lookups of a blocking SynonymProvider on an executor, so synonyms can be fetched while translating, and
+ * many terms at once. The executor bounds the threads, the concurrency towards the site is bounded by the Curler of
+ * the provider, e.g. a BulkheadCurler shared with other users of the site.
+ */
+public class AsyncSynonymProvider implements SynonymProvider {
+
+    private static final Logger LOG = Logger.getLogger(AsyncSynonymProvider.class);
+
+    private final SynonymProvider provider;
+    private final ExecutorService executor;
+
+    public AsyncSynonymProvider(SynonymProvider provider, ExecutorService executor) {
+        this.provider = provider;
+        this.executor = executor;
+    }
+
+    @Override
+    public Set<String> getSynonyms(String term, SourceLanguage sourceLanguage) {
+        return provider.getSynonyms(term, sourceLanguage);
+    }
+
+    /**
+     * Starts looking up the synonyms of a term.
+     * @param term the term to get synonyms for.
+     * @param sourceLanguage the source language in which to look for synonyms.
+     * @return the future set of synonyms.
+     * @throws RejectedExecutionException if the executor does not accept any more lookups.
+     */
+    public Future<Set<String>> getSynonymsAsync(final String term, final SourceLanguage sourceLanguage) {
+        return executor.submit(new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() {
+                return provider.getSynonyms(term, sourceLanguage);
+            }
+        });
+    }
+
+    /**
+     * Looks up the synonyms of many terms concurrently and waits for them at most timeoutMillis in total.
+     * Lookups which did not finish in time are cancelled and yield the empty set, like failed lookups do.
+     * @param terms the terms to get synonyms for.
+     * @param sourceLanguage the source language in which to look for synonyms.
+     * @param timeoutMillis maximum time to wait for all lookups.
+     * @return the synonyms of every term, in the order of terms.
+     */
+    public Map<String, Set<String>> getSynonyms(Collection<String> terms, SourceLanguage sourceLanguage,
+                                                long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, Future<Set<String>>> futures = new LinkedHashMap<>();
+        for (String term : terms) {
+            if (!futures.containsKey(term)) {
+                try {
+                    futures.put(term, getSynonymsAsync(term, sourceLanguage));
+                } catch (RejectedExecutionException e) {
+                    LOG.warn("Could not schedule the synonym lookup of " + term, e);
+                    futures.put(term, null);
+                }
+            }
+        }
+        Map<String, Set<String>> synonyms = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Set<String>>> future : futures.entrySet()) {
+            synonyms.put(future.getKey(), await(future.getKey(), future.getValue(), deadline));
+        }
+        return synonyms;
+    }
+
+    private static Set<String> await(String term, Future<Set<String>> future, long deadline) {
+        if (future == null) {
+            return Collections.emptySet();
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Synonym lookup of " + term + " timed out");
+            }
+        } catch (ExecutionException e) {
+            LOG.warn("Synonym lookup of " + term + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return Collections.emptySet();
+    }
+}
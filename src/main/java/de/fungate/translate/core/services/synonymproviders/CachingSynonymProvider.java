@@ -0,0 +1,81 @@
+package de.fungate.translate.core.services.synonymproviders;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.SynonymProvider;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers synonym lookups from a SynonymGraph populated by the decorated provider. Terms whose synonyms have been
+ * looked up before are answered locally, and so are terms which are known well enough from the synonym lists of
+ * other terms: after looking up "zoom", the reverse lookup of "ascend" already knows "zoom" as its synonym.
+ * Empty results are not added, as the decorated provider returns them for failed requests, too.
+ */
+public class CachingSynonymProvider implements SynonymProvider {
+
+    private final SynonymProvider provider;
+    private final SynonymGraph graph;
+    private final int minSynonyms;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new CachingSynonymProvider.
+     * @param provider to be decorated.
+     * @param graph to keep the synonyms in.
+     * @param minSynonyms minimum number of synonyms learnt from other terms to answer for a term not looked up yet.
+     */
+    public CachingSynonymProvider(SynonymProvider provider, SynonymGraph graph, int minSynonyms) {
+        this.provider = provider;
+        this.graph = graph;
+        this.minSynonyms = Math.max(1, minSynonyms);
+    }
+
+    @Override
+    public Set<String> getSynonyms(String term, SourceLanguage sourceLanguage) {
+        if (graph.isComplete(term, sourceLanguage)) {
+            hits.incrementAndGet();
+            return graph.getSynonyms(term, sourceLanguage);
+        }
+        Set<String> known = graph.getSynonyms(term, sourceLanguage);
+        if (known.size() >= minSynonyms) {
+            hits.incrementAndGet();
+            return known;
+        }
+        return load(term, sourceLanguage);
+    }
+
+    /**
+     * Expands term transitively over the cached synonyms, see SynonymGraph.expand(). Only term itself is looked up
+     * by the decorated provider, if its own synonyms are not cached yet.
+     * @param term to start from.
+     * @param sourceLanguage of the term.
+     * @param depth maximum number of synonym relations between term and a returned term.
+     * @param limit maximum number of returned terms.
+     * @return the terms reachable from term, closer ones first.
+     */
+    public Set<String> expand(String term, SourceLanguage sourceLanguage, int depth, int limit) {
+        if (!graph.isComplete(term, sourceLanguage)) {
+            load(term, sourceLanguage);
+        }
+        return graph.expand(term, sourceLanguage, depth, limit);
+    }
+
+    private Set<String> load(String term, SourceLanguage sourceLanguage) {
+        misses.incrementAndGet();
+        Set<String> synonyms = provider.getSynonyms(term, sourceLanguage);
+        if (!synonyms.isEmpty()) {
+            graph.addSynonyms(term, synonyms, sourceLanguage);
+        }
+        return synonyms;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+}
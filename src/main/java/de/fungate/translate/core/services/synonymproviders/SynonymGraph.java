@@ -0,0 +1,204 @@
+package de.fungate.translate.core.services.synonymproviders;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.TermPool;
+import de.fungate.translate.core.services.Queries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Undirected graph of synonym relations, one per SourceLanguage. Terms are numbered by int ids in the order they
+ * are first seen, and every term keeps a sorted array of the ids of its synonyms, so a term costs a few dozen bytes
+ * plus 4 bytes per relation. Terms are matched case insensitively, see Queries.fold().
+ * <p>
+ * Synonymy is symmetric, so adding the synonyms of a term also makes the term known as a synonym of each of them.
+ * A term is complete once its own synonyms have been added; other terms only know the relations learnt from others.
+ * If a language exceeds maxTerms terms, its graph is cleared and starts over. Instances are thread safe.
+ */
+public class SynonymGraph {
+
+    private final int maxTerms;
+    private final Language english = new Language();
+    private final Language german = new Language();
+
+    /**
+     * @param maxTerms maximum number of terms per language before the graph of that language is cleared.
+     */
+    public SynonymGraph(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    /**
+     * Adds the complete set of synonyms of a term.
+     * @param term whose synonyms were looked up.
+     * @param synonyms of term.
+     * @param language of the terms.
+     */
+    public void addSynonyms(String term, Collection<String> synonyms, SourceLanguage language) {
+        Language graph = languageOf(language);
+        graph.lock.writeLock().lock();
+        try {
+            if (graph.size() + synonyms.size() + 1 > maxTerms) {
+                graph.clear();
+            }
+            int id = graph.idOrCreate(term);
+            graph.complete.set(id);
+            for (String synonym : synonyms) {
+                int other = graph.idOrCreate(synonym);
+                if (other != id) {
+                    graph.link(id, other);
+                    graph.link(other, id);
+                }
+            }
+        } finally {
+            graph.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param term to look up.
+     * @param language of the term.
+     * @return true, iff the synonyms of term itself have been added.
+     */
+    public boolean isComplete(String term, SourceLanguage language) {
+        Language graph = languageOf(language);
+        graph.lock.readLock().lock();
+        try {
+            Integer id = graph.ids.get(Queries.fold(term));
+            return id != null && graph.complete.get(id);
+        } finally {
+            graph.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param term to look up.
+     * @param language of the term.
+     * @return the known synonyms of term, empty if term is unknown.
+     */
+    public Set<String> getSynonyms(String term, SourceLanguage language) {
+        return expand(term, language, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Collects the synonyms of term, the synonyms of these and so on, breadth first, without any network access.
+     * @param term to start from.
+     * @param language of the term.
+     * @param depth maximum number of synonym relations between term and a returned term, 1 for direct synonyms.
+     * @param limit maximum number of returned terms.
+     * @return the terms reachable from term, closer ones first, not including term itself.
+     */
+    public Set<String> expand(String term, SourceLanguage language, int depth, int limit) {
+        Language graph = languageOf(language);
+        graph.lock.readLock().lock();
+        try {
+            Set<String> result = new LinkedHashSet<>();
+            Integer start = graph.ids.get(Queries.fold(term));
+            if (start == null) {
+                return result;
+            }
+            BitSet visited = new BitSet();
+            visited.set(start);
+            int[] frontier = {start};
+            for (int level = 0; level < depth && frontier.length > 0; level++) {
+                int[] next = new int[0];
+                int size = 0;
+                for (int id : frontier) {
+                    for (int other : graph.synonyms.get(id)) {
+                        if (visited.get(other)) {
+                            continue;
+                        }
+                        visited.set(other);
+                        result.add(graph.terms.get(other));
+                        if (result.size() >= limit) {
+                            return result;
+                        }
+                        if (size == next.length) {
+                            next = Arrays.copyOf(next, Math.max(4, 2 * size));
+                        }
+                        next[size++] = other;
+                    }
+                }
+                frontier = Arrays.copyOf(next, size);
+            }
+            return result;
+        } finally {
+            graph.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param language of the terms.
+     * @return the number of known terms of the language.
+     */
+    public int size(SourceLanguage language) {
+        Language graph = languageOf(language);
+        graph.lock.readLock().lock();
+        try {
+            return graph.size();
+        } finally {
+            graph.lock.readLock().unlock();
+        }
+    }
+
+    private Language languageOf(SourceLanguage language) {
+        return language == SourceLanguage.ENGLISH ? english : german;
+    }
+
+    private static final class Language {
+        private static final int[] NONE = new int[0];
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+        private final List<int[]> synonyms = new ArrayList<>();
+        private final BitSet complete = new BitSet();
+
+        private int size() {
+            return terms.size();
+        }
+
+        private int idOrCreate(String term) {
+            String key = Queries.fold(term);
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = terms.size();
+                ids.put(key, id);
+                terms.add(TermPool.shared().intern(Queries.normalize(term)));
+                synonyms.add(NONE);
+            }
+            return id;
+        }
+
+        private void link(int from, int to) {
+            int[] adjacent = synonyms.get(from);
+            int i = Arrays.binarySearch(adjacent, to);
+            if (i >= 0) {
+                return;
+            }
+            int insert = -i - 1;
+            int[] grown = new int[adjacent.length + 1];
+            System.arraycopy(adjacent, 0, grown, 0, insert);
+            grown[insert] = to;
+            System.arraycopy(adjacent, insert, grown, insert + 1, adjacent.length - insert);
+            synonyms.set(from, grown);
+        }
+
+        private void clear() {
+            ids.clear();
+            terms.clear();
+            synonyms.clear();
+            complete.clear();
+        }
+    }
+}
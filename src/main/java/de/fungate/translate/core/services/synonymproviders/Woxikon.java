@@ -3,6 +3,7 @@ package de.fungate.translate.core.services.synonymproviders;
 import com.google.inject.Inject;
 import de.fungate.translate.core.models.SourceLanguage;
 import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.Queries;
 import de.fungate.translate.core.services.SynonymProvider;
 import fj.data.Either;
 import org.apache.log4j.Logger;
@@ -11,8 +12,6 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -52,13 +51,7 @@ public class Woxikon implements SynonymProvider {
 		String url = "";
 
 		// Delete slashes in the term and url encode the term
-		// throw exceptions when URLEncode fails
-		try {
-			term = term.replace("/", "");
-			term = URLEncoder.encode(term, "UTF-8");
-		} catch (UnsupportedEncodingException e) {
-			LOG.error("System does not support UTF-8", e);
-		}
+		term = Queries.urlEncode(term.replace("/", ""));
 
 		// merge the url parts (constant url part, term, extension) together
 		// for the given sourcelanguage
@@ -3,9 +3,13 @@ package de.fungate.translate.core.services.translators;
 import com.google.inject.Inject;
 import de.fungate.translate.core.models.SourceLanguage;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.CancellationToken;
 import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.LimitedTranslator;
+import de.fungate.translate.core.services.Pages;
+import de.fungate.translate.core.services.Queries;
 import de.fungate.translate.core.services.Regexes;
-import de.fungate.translate.core.services.Translator;
 import fj.data.Either;
 import org.apache.log4j.Logger;
 import org.jsoup.Jsoup;
@@ -13,10 +17,7 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -28,13 +29,14 @@ import static de.fungate.translate.core.services.Regexes.any;
  * @author Eike Karsten Schlicht
  * @version 9.0 
  */
-public class DictccTranslator implements Translator{
+public class DictccTranslator implements LimitedTranslator<String> {
 
 	private static final String MAIN_PAGE_URL = "http://www.dict.cc/?s=";
 	private static final String SELECT_ENG = "table tr[id] td:eq(1)";
 	private static final String SELECT_GER = "table tr[id] td:eq(2)";
     private static final String CONNECTION_ERROR = "Es konnte keine Verbindung zu www.dict.cc hergestellt werden!";
     private static final Logger LOG = Logger.getLogger(DictccTranslator.class);
+    private static final int DEFAULT_LIMIT = 10;
     public static final Pattern MATCH_GARBAGE = Pattern.compile(any(
             Regexes.DIGITS,
             Regexes.PARENTHESIS,
@@ -62,12 +64,80 @@ public class DictccTranslator implements Translator{
      */
 	@Override
 	public Set<Translation> translate(String term, SourceLanguage source) {
+		return translate(term, source, DEFAULT_LIMIT);
+	}
+
+	/**
+	 * Translates the term, extracting no more than maxResults translations from the result page.
+	 * @param term to be translated
+	 * @param source sourcelanguage enumeration
+	 * @param maxResults maximum number of translations
+	 * @return <Translation> a Set of translations
+	 */
+	@Override
+	public Set<Translation> translate(String term, SourceLanguage source, int maxResults) {
+		return parse(term, source, fetch(term, source, maxResults), maxResults);
+	}
+
+	/**
+	 * Fetches the result page for the term from dict.cc.
+	 * @param term to be translated
+	 * @param source sourcelanguage enumeration
+	 * @return either the HTML of the result page or the Exception of the failed request
+	 */
+	@Override
+	public Either<String, Exception> fetch(String term, SourceLanguage source) {
 		String conURL = buildConnectionUrl(term, MAIN_PAGE_URL, source);
-		Either<String, Exception> content = curler.get(conURL);
+		return curler.get(conURL);
+	}
+
+	/**
+	 * Fetches the result page for the term from dict.cc, which has no parameter to limit the results.
+	 * @param term to be translated
+	 * @param source sourcelanguage enumeration
+	 * @param maxResults ignored
+	 * @return either the HTML of the result page or the Exception of the failed request
+	 */
+	@Override
+	public Either<String, Exception> fetch(String term, SourceLanguage source, int maxResults) {
+		return fetch(term, source);
+	}
+
+	/**
+	 * Crawls a previously fetched result page.
+	 * Prints an error-message if the request had failed.
+	 * @param term to be translated
+	 * @param source sourcelanguage enumeration
+	 * @param content either the HTML of the result page or the Exception of the failed request
+	 * @return <Translation> a Set of translations
+	 */
+	@Override
+	public Set<Translation> parse(String term, SourceLanguage source, Either<String, Exception> content) {
+		return parse(term, source, content, DEFAULT_LIMIT);
+	}
+
+	/**
+	 * Crawls a previously fetched result page for at most maxResults translations.
+	 * Prints an error-message if the request had failed.
+	 * @param term to be translated
+	 * @param source sourcelanguage enumeration
+	 * @param content either the HTML of the result page or the Exception of the failed request
+	 * @param maxResults maximum number of translations
+	 * @return <Translation> a Set of translations
+	 */
+	@Override
+	public Set<Translation> parse(String term, SourceLanguage source, Either<String, Exception> content,
+								  int maxResults) {
 		//dictcc could be reached if the left type is present
 		if (content.isLeft()) {
-			Document doc = Jsoup.parse(content.left().value());
-			return crawl(doc);
+			String html = content.left().value();
+			Set<Translation> translations = crawl(Jsoup.parse(html), maxResults);
+			// nothing found on a page cut off mid-transfer does not mean the term is unknown
+			if (translations.isEmpty() && !Pages.isComplete(html)) {
+				LOG.warn("Incomplete result page from www.dict.cc");
+				return TranslationSet.failed();
+			}
+			return translations;
 		} else {
 			// if request failed and the right type is present (Shows an error-console Message).
 			LOG.warn(CONNECTION_ERROR, content.right().value());
@@ -103,38 +173,35 @@ public class DictccTranslator implements Translator{
     	} else {
     		LOG.error("Unsupported language: "+source);
     	}
-    	try {
-        	return curUrl + URLEncoder.encode(term, "UTF-8");
-    	} catch (UnsupportedEncodingException e) {
-    		LOG.error("Cannot happen.", e);
-    		return "";
-    	}
+    	return curUrl + Queries.urlEncode(term);
     }
 
     /**
      * Crawls the Dict.cc-Webpage by using defined html-selectors and build a Set
      * of translations (Englisch, German).
      * @param newdoc reperesentation of result-page at provider website
+     * @param limit maximum number of translations
      * @return <Translation> a Set of translations
      */
-    private Set<Translation> crawl(Document newdoc){
+    private Set<Translation> crawl(Document newdoc, int limit){
 		//row passing through and line passing through in content table of dictcc:
 		//Filters the english terms, german terms and word classes out of the HTML-content
 		Elements englishTerms = newdoc.body().select(SELECT_ENG);
 		Elements germanTerms = newdoc.body().select(SELECT_GER);
 	
-	    final int limit = 10;
-        Set<Translation> translations = new HashSet<>(limit);
+        TranslationSet.Builder translations = TranslationSet.builder(Math.min(limit, DEFAULT_LIMIT));
         Iterator<Element> engIter = englishTerms.iterator();
         Iterator<Element> gerIter = germanTerms.iterator();
         while (engIter.hasNext() 
                 && gerIter.hasNext() 
                 && translations.size() < limit) {
+            // a cancelled translation gives up here instead of passing on a partial result
+            CancellationToken.throwIfCurrentCancelled();
             String eng = toStringFiltre(engIter.next().text());
             String ger = toStringFiltre(gerIter.next().text());
             translations.add(new Translation(eng, ger));
         }
-        return translations;
+        return translations.build();
     }
 
     /**
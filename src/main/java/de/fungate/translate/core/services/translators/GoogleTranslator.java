@@ -3,18 +3,17 @@ package de.fungate.translate.core.services.translators;
 import com.google.inject.Inject;
 import de.fungate.translate.core.models.SourceLanguage;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
 import de.fungate.translate.core.services.Curler;
-import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.LimitedTranslator;
+import de.fungate.translate.core.services.Queries;
 import fj.data.Either;
 import org.apache.log4j.Logger;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONValue;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -23,7 +22,7 @@ import java.util.Set;
  * @author f.supplie
  * @version 2.5
  */
-public class GoogleTranslator implements Translator {
+public class GoogleTranslator implements LimitedTranslator<String> {
 
 	// constant parts of the url
 	private static final String ENURL = "http://translate.google.de/translate_a/t?client=t&sl=en&tl=de&hl=de&sc=2&ie=UTF-8&oe=UTF-8&ssel=0&tsel=0&q=";
@@ -50,16 +49,86 @@ public class GoogleTranslator implements Translator {
 	 * @return Set<Translation>
 	 */
 	public Set<Translation> translate(String term, SourceLanguage source) {
-		String url = buildurl(term, source);
+		return parse(term, source, fetch(term, source));
+	}
+
+	/**
+	 * Returns a Set of at most maxResults translations for a given term and sourcelanguage.
+	 * 
+	 * @param term to be translated
+	 * @param source of the given term
+	 * @param maxResults maximum number of translations
+	 * @return Set<Translation>
+	 */
+	@Override
+	public Set<Translation> translate(String term, SourceLanguage source, int maxResults) {
+		return parse(term, source, fetch(term, source, maxResults), maxResults);
+	}
+
+	/**
+	 * Fetches the JSON response for a given term and source language.
+	 * 
+	 * @param term to be translated
+	 * @param source of the given term
+	 * @return Either<String, Exception> - the JSON response or the exception of the failed request
+	 */
+	@Override
+	public Either<String, Exception> fetch(String term, SourceLanguage source) {
+		return curler.get(buildurl(term, source));
+	}
 
-		Either<String, Exception> content = curler.get(url);
+	/**
+	 * Fetches the JSON response for a given term and source language. The response is small and has no
+	 * parameter to limit the results, so maxResults is ignored.
+	 * 
+	 * @param term to be translated
+	 * @param source of the given term
+	 * @param maxResults ignored
+	 * @return Either<String, Exception> - the JSON response or the exception of the failed request
+	 */
+	@Override
+	public Either<String, Exception> fetch(String term, SourceLanguage source, int maxResults) {
+		return fetch(term, source);
+	}
 
+	/**
+	 * Returns a Set of translation for a previously fetched JSON response.
+	 * Prints an warn-message if the request failed.
+	 * 
+	 * @param term to be translated
+	 * @param source of the given term
+	 * @param content the JSON response or the exception of the failed request
+	 * @return Set<Translation>
+	 */
+	@Override
+	public Set<Translation> parse(String term, SourceLanguage source, Either<String, Exception> content) {
+		return parse(term, source, content, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns a Set of at most maxResults translations for a previously fetched JSON response.
+	 * Prints an warn-message if the request failed.
+	 * 
+	 * @param term to be translated
+	 * @param source of the given term
+	 * @param content the JSON response or the exception of the failed request
+	 * @param maxResults maximum number of translations
+	 * @return Set<Translation>
+	 */
+	@Override
+	public Set<Translation> parse(String term, SourceLanguage source, Either<String, Exception> content,
+								  int maxResults) {
 		// if left type of either is present the get-request was successfull and
 		// the translations can be parsed
 		if (content.isLeft()) {
 			String response = content.left().value();
-
-			return buildresult(parse(response), source);
+			ArrayList<String> parsed = parse(response);
+			// a truncated or garbled response is no JSON array, which does not mean the term is unknown
+			if (parsed == null) {
+				LOG.warn("Unexpected response from translate.google.de");
+				return TranslationSet.failed();
+			}
+			return buildresult(parsed, source, maxResults);
 		}
 		// if right type of either is present the get-request failed and a
 		// connection error is logged and a empty set returned
@@ -74,19 +143,26 @@ public class GoogleTranslator implements Translator {
 	 * of Strings and the depending source language and return a set of translation.
 	 * @param parse ArrayList<String> of the relevant part of the JSON response
 	 * @param source of the term
+	 * @param limit restricting the number of translations
 	 * @return Set<Translation> of translations
 	 */
 	private Set<Translation> buildresult(ArrayList<String> parse,
-			SourceLanguage source) {
+			SourceLanguage source, int limit) {
 
-		Set<Translation> result = new HashSet<>();
+		TranslationSet.Builder result = TranslationSet.builder();
 
 		for (String s : parse) {
+			if (result.size() >= limit) {
+				break;
+			}
 			JSONArray array3 = (JSONArray) JSONValue.parse(s);
 			String wordclass = array3.get(0).toString();
 
 			JSONArray translations = (JSONArray) array3.get(1);
 			for (Object p : translations) {
+				if (result.size() >= limit) {
+					break;
+				}
 				String translation = p.toString();
 				
 				if (source == SourceLanguage.GERMAN) {
@@ -114,7 +190,7 @@ public class GoogleTranslator implements Translator {
 			}
 		}
 
-		return result;
+		return result.build();
 
 	}
 
@@ -128,11 +204,7 @@ public class GoogleTranslator implements Translator {
 	 */
 	private String buildurl(String term, SourceLanguage source) {
 
-		try {
-			term = URLEncoder.encode(term, "UTF-8");
-		} catch (UnsupportedEncodingException e) {
-			LOG.error("System does not support UTF-8", e);
-		}
+		term = Queries.urlEncode(term);
 
 		String url = "";
 
@@ -152,13 +224,17 @@ public class GoogleTranslator implements Translator {
 	/**
 	 * Returns an ArrayList<String> which include the relevant data of the JSON response.
 	 * @param response complete JSON response from the google server
-	 * @return ArrayList<String> including JSON parts which includes the translations
+	 * @return ArrayList<String> including JSON parts which includes the translations, null if the response is no
+	 * JSON array
 	 */
 	private ArrayList<String> parse(String response) {
 
 		ArrayList<String> result = new ArrayList<>();
 
 		Object jsonresponse = JSONValue.parse(response);
+		if (!(jsonresponse instanceof JSONArray)) {
+			return null;
+		}
 		JSONArray array = (JSONArray) jsonresponse;
 
 		// indication that the array does not include any translations
@@ -177,7 +253,7 @@ public class GoogleTranslator implements Translator {
 
 	@Override
 	public String getProvider() {
-		return "translate.googl.com";
+		return "translate.google.de";
 	}
 
 }
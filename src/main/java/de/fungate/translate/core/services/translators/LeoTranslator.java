@@ -4,9 +4,12 @@ package de.fungate.translate.core.services.translators;
 import com.google.inject.Inject;
 import de.fungate.translate.core.models.SourceLanguage;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.CancellationToken;
 import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.LimitedTranslator;
+import de.fungate.translate.core.services.Queries;
 import de.fungate.translate.core.services.Regexes;
-import de.fungate.translate.core.services.Translator;
 import fj.data.Either;
 import org.apache.log4j.Logger;
 import org.w3c.dom.Document;
@@ -22,19 +25,18 @@ import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 /**
  * Translator implementation for the leo provider
  * @author Kader Pustu
  */
-public class LeoTranslator implements Translator {
+public class LeoTranslator implements LimitedTranslator<InputStream> {
 
     private final Curler curler;
     private static final Logger LOG = Logger.getLogger(LeoTranslator.class);
+    private static final int DEFAULT_LIMIT = 15;
+    private static final int DEFAULT_SECTION_LENGTH = 16;
     private static final XPathExpression GERMAN_XPATH = compileXPath("//entry//side[@lang='de']//words/word[1]/text()");
     private static final XPathExpression ENGLISH_XPATH = compileXPath("//entry//side[@lang='en']//words/word[1]/text()");
 
@@ -52,16 +54,75 @@ public class LeoTranslator implements Translator {
      */
     @Override
     public Set<Translation> translate(String term, SourceLanguage src) {
-        String url = buildURL(term, src);
-        Either<InputStream, Exception> content = curler.getStream(url);
+        return parse(term, src, fetch(term, src));
+    }
+
+    /**
+     * Gets at most maxResults translations for the term in the given source language
+     * @param term to be translated
+     * @param src SourceLanguange of the given term
+     * @param maxResults maximum number of translations
+     * @return the set containing pairs of translations
+     */
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage src, int maxResults) {
+        return parse(term, src, fetch(term, src, maxResults), maxResults);
+    }
+
+    /**
+     * Fetches the XML result for the term from leo.org. The ApacheHTTPCurler already buffers the whole response,
+     * so parsing the returned stream does no further network I/O.
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @return either the XML stream or the Exception of the failed request
+     */
+    @Override
+    public Either<InputStream, Exception> fetch(String term, SourceLanguage src) {
+        return curler.getStream(buildURL(term, src));
+    }
+
+    /**
+     * Fetches the XML result for the term from leo.org, asking for no more than maxResults entries per section.
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @param maxResults maximum number of translations
+     * @return either the XML stream or the Exception of the failed request
+     */
+    @Override
+    public Either<InputStream, Exception> fetch(String term, SourceLanguage src, int maxResults) {
+        return curler.getStream(buildURL(term, src, Math.max(1, maxResults)));
+    }
 
+    /**
+     * Extracts the translations out of a previously fetched XML result
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @param content either the XML stream or the Exception of the failed request
+     * @return the set containing pairs of translations
+     */
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage src, Either<InputStream, Exception> content) {
+        return parse(term, src, content, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Extracts at most maxResults translations out of a previously fetched XML result
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @param content either the XML stream or the Exception of the failed request
+     * @param maxResults maximum number of translations
+     * @return the set containing pairs of translations
+     */
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage src, Either<InputStream, Exception> content,
+                                  int maxResults) {
         if (content.isLeft() && !term.isEmpty()) {
             try {
-                return crawl(content,15);
+                return crawl(content, maxResults);
             } catch (IOException | SAXException
                     | XPathExpressionException e) {
                 LOG.error("Failed to extract translations from XML", e);
-                return Collections.emptySet();
+                return TranslationSet.failed();
             }
         } else {
             LOG.error("Could not get data from leo.org", content.right().value());
@@ -77,16 +138,22 @@ public class LeoTranslator implements Translator {
      * @return the URL for the term translations 
      */
     public String buildURL(String term, SourceLanguage src) {
-        try {
-            return "http://dict.leo.org/dictQuery/m-vocab/ende/query.xml?tolerMode=nof&lp=ende&lang=de&rmWords=off&rmSearch=on&directN=0&search="
-                    + URLEncoder.encode(term, "UTF-8")
-                    + "&searchLoc="
-                    + changeSourceLanguage(src)
-                    + "&resultOrder=basic&multiwordShowSingle=on&sectLenMax=16";
-        } catch (UnsupportedEncodingException e) {
-            LOG.error("Failed to encode the URL for term " + term, e);
-            return "";
-        }
+        return buildURL(term, src, DEFAULT_SECTION_LENGTH);
+    }
+
+    /**
+     * builds the url for the term in the given source language
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @param sectionLength maximum number of entries leo.org returns per section
+     * @return the URL for the term translations
+     */
+    public String buildURL(String term, SourceLanguage src, int sectionLength) {
+        return "http://dict.leo.org/dictQuery/m-vocab/ende/query.xml?tolerMode=nof&lp=ende&lang=de&rmWords=off&rmSearch=on&directN=0&search="
+                + Queries.urlEncode(term)
+                + "&searchLoc="
+                + changeSourceLanguage(src)
+                + "&resultOrder=basic&multiwordShowSingle=on&sectLenMax=" + sectionLength;
     }
 
     /**
@@ -98,7 +165,7 @@ public class LeoTranslator implements Translator {
     private Set<Translation> crawl(Either<InputStream, Exception> content, int limit)
             throws XPathExpressionException, IOException, SAXException {
 
-        Set<Translation> s = new HashSet<>();
+        TranslationSet.Builder s = TranslationSet.builder(Math.min(limit, DEFAULT_LIMIT));
 
         Document doc = makeDocumentBuilder().parse(content.left().value());
 
@@ -117,6 +184,7 @@ public class LeoTranslator implements Translator {
         int numberOfTerms = Math.min(germanTerms.getLength(), englishTerms.getLength());
         for (int i = 0; i < numberOfTerms; i++) {
         	
+        	CancellationToken.throwIfCurrentCancelled();
         	if(limit>0){
 	            String english = englishTerms.item(i).getNodeValue();
 	            String german = germanTerms.item(i).getNodeValue();
@@ -126,7 +194,7 @@ public class LeoTranslator implements Translator {
         	else break;
         }
 
-        return s;
+        return s.build();
     }
 
     /**
@@ -4,9 +4,13 @@ package de.fungate.translate.core.services.translators;
 import com.google.inject.Inject;
 import de.fungate.translate.core.models.SourceLanguage;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.CancellationToken;
 import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.LimitedTranslator;
+import de.fungate.translate.core.services.Pages;
+import de.fungate.translate.core.services.Queries;
 import de.fungate.translate.core.services.Regexes;
-import de.fungate.translate.core.services.Translator;
 import fj.data.Either;
 import org.apache.log4j.Logger;
 import org.jsoup.Jsoup;
@@ -25,12 +29,12 @@ import static de.fungate.translate.core.services.Regexes.any;
  *
  */
 
-public class PonsTranslator implements Translator {
+public class PonsTranslator implements LimitedTranslator<String> {
 
     private final Curler curler;
     private static final String CONNECTION_ERROR = "Es konnte keine Verbindung zu de.pons.eu hergestellt werden!";
     private static final Logger LOG = Logger.getLogger(PonsTranslator.class);
-    private static final int LIMIT = 15;
+    private static final int DEFAULT_LIMIT = 15;
 
     @Inject
     public PonsTranslator(Curler curler) {
@@ -45,12 +49,76 @@ public class PonsTranslator implements Translator {
      */
     @Override
     public Set<Translation> translate(String term, SourceLanguage src) {
-        String url = buildURL(term, src);
-        Either<String, Exception> content = curler.get(url);
+        return parse(term, src, fetch(term, src));
+    }
+
+    /**
+     * Gets at most maxResults translations for the term in the given source language
+     * @param term to be translated
+     * @param src SourceLanguange of the given term
+     * @param maxResults maximum number of translations
+     * @return the set containing pairs of translations
+     */
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage src, int maxResults) {
+        return parse(term, src, fetch(term, src, maxResults), maxResults);
+    }
+
+    /**
+     * Fetches the result page for the term from pons.eu
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @return either the HTML of the result page or the Exception of the failed request
+     */
+    @Override
+    public Either<String, Exception> fetch(String term, SourceLanguage src) {
+        return curler.get(buildURL(term, src));
+    }
+
+    /**
+     * Fetches the result page for the term from pons.eu, which has no parameter to limit the results
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @param maxResults ignored
+     * @return either the HTML of the result page or the Exception of the failed request
+     */
+    @Override
+    public Either<String, Exception> fetch(String term, SourceLanguage src, int maxResults) {
+        return fetch(term, src);
+    }
+
+    /**
+     * Crawls a previously fetched result page
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @param content either the HTML of the result page or the Exception of the failed request
+     * @return the set containing pairs of translations
+     */
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage src, Either<String, Exception> content) {
+        return parse(term, src, content, DEFAULT_LIMIT);
+    }
 
+    /**
+     * Crawls a previously fetched result page for at most maxResults translations
+     * @param term to be translated
+     * @param src SourceLanguage of the given term
+     * @param content either the HTML of the result page or the Exception of the failed request
+     * @param maxResults maximum number of translations
+     * @return the set containing pairs of translations
+     */
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage src, Either<String, Exception> content,
+                                  int maxResults) {
         if (content.isLeft() && !term.isEmpty()) {
 
-            return crawl(term, src, content);
+            Set<Translation> translations = crawl(term, src, content, maxResults);
+            // nothing found on a page cut off mid-transfer does not mean the term is unknown
+            if (translations.isEmpty() && !Pages.isComplete(content.left().value())) {
+                LOG.warn("Incomplete result page from pons.eu");
+                return TranslationSet.failed();
+            }
+            return translations;
 
         } else {
             LOG.warn(CONNECTION_ERROR, content.right().value());
@@ -65,15 +133,9 @@ public class PonsTranslator implements Translator {
      * @return the URL for the term translations 
      */
     public String buildURL(String term, SourceLanguage src) {
-        String url = "http://de.pons.eu/dict/search/results/?q=";
-        while (term.contains(" ")) {
-            url = url + term.substring(0, term.indexOf(" ")) + "+";
-            term = term.substring(term.indexOf(" ") + 1);
-        }
-        url = url + term + "&l=deen&in=" + changeSourceLanguage(src) + "&lf="
+        return "http://de.pons.eu/dict/search/results/?q=" + Queries.urlEncode(term)
+                + "&l=deen&in=" + changeSourceLanguage(src) + "&lf="
                 + changeSourceLanguage(src);
-
-        return url;
     }
 
     private String changeSourceLanguage(SourceLanguage src) {
@@ -88,15 +150,16 @@ public class PonsTranslator implements Translator {
      * @param term to be translated
      * @param src SourceLanguage of the term
      * @param content
+     * @param limit restricting the number of translations
      * @return the set of crawled translations
      */
     private Set<Translation> crawl(String term, SourceLanguage src,
-                                   Either<String, Exception> content) {
+                                   Either<String, Exception> content, int limit) {
 
-        Set<Translation> s = new HashSet<>();
+        TranslationSet.Builder s = TranslationSet.builder(Math.min(limit, DEFAULT_LIMIT));
         Document doc = Jsoup.parse(content.left().value());
 
-        if(!isActualTermTranslation(doc)) return s;
+        if(!isActualTermTranslation(doc)) return s.build();
 
         int classTranslationsSize = doc.select(".translations").size();
 
@@ -105,7 +168,8 @@ public class PonsTranslator implements Translator {
         if (classTranslationsSize != 0) {
             for (int i = 0; i < classTranslationsSize; i++) {
 
-                if (s.size() >= LIMIT) return s;
+                if (s.size() >= limit) return s.build();
+                CancellationToken.throwIfCurrentCancelled();
                 // further eliminition of translations to wrong terms
                 if (h3Elements.get(i).text().toLowerCase()
                         .contains(term.toLowerCase())
@@ -116,20 +180,20 @@ public class PonsTranslator implements Translator {
                             .get(i).select(".source");
                     Elements ddInnerElements = doc.select(".translations")
                             .get(i).select(".dd-inner");
-                    s = parseTranslation(s, src, sourceElements,
-                            ddInnerElements);
+                    parseTranslation(s, src, sourceElements,
+                            ddInnerElements, limit);
                 }
             }
-            return s;
+            return s.build();
         } else {
 
             Elements sourceElements = doc.select("[data-translation] .source");
             Elements ddInnerElements = doc
                     .select("[data-translation] .dd-inner");
-            s = parseTranslation(s, src, sourceElements, ddInnerElements);
+            parseTranslation(s, src, sourceElements, ddInnerElements, limit);
 
         }
-        return s;
+        return s.build();
     }
 
     /**
@@ -149,20 +213,21 @@ public class PonsTranslator implements Translator {
 
     /**
      * parses the final translation pairs
-     * @param s set of translations
+     * @param s builder collecting the translations
      * @param src SourceLanguage of the former term
      * @param sourceElements terms in the source language
      * @param ddInnerElements translations in the target language
-     * @return the set of translations
+     * @param limit restricting the number of translations
      */
-    private Set<Translation> parseTranslation(Set<Translation> s,
-                                              SourceLanguage src, Elements sourceElements,
-                                              Elements ddInnerElements) {
+    private void parseTranslation(TranslationSet.Builder s,
+                                  SourceLanguage src, Elements sourceElements,
+                                  Elements ddInnerElements, int limit) {
 
         for (int j = 0; j < sourceElements.size(); j++) {
 
-            if (s.size() >= LIMIT)
-                return s;
+            if (s.size() >= limit)
+                return;
+            CancellationToken.throwIfCurrentCancelled();
 
             String sourceTerm = sourceElements.get(j).text();
             String targetTerm = ddInnerElements.get(j).select(".target").text();
@@ -186,7 +251,6 @@ public class PonsTranslator implements Translator {
                 }
             }
         }
-        return s;
     }
 
     /**
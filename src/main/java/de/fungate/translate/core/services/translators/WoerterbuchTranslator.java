@@ -3,15 +3,18 @@ package de.fungate.translate.core.services.translators;
 import com.google.inject.Inject;
 import de.fungate.translate.core.models.SourceLanguage;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.CancellationToken;
 import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.LimitedTranslator;
 import de.fungate.translate.core.services.MealyMachine;
+import de.fungate.translate.core.services.Pages;
+import de.fungate.translate.core.services.Queries;
 import de.fungate.translate.core.services.Regexes;
-import de.fungate.translate.core.services.Translator;
 import fj.F;
 import fj.P2;
 import fj.data.Either;
 import fj.data.Option;
-import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.log4j.Logger;
 import org.jsoup.Jsoup;
@@ -19,9 +22,7 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
-import java.net.URISyntaxException;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -34,7 +35,7 @@ import static fj.data.Option.some;
  * Translator implementation for woerterbuch.info
  * @author Sebastian Graf
  */
-public class WoerterbuchTranslator implements Translator {
+public class WoerterbuchTranslator implements LimitedTranslator<String> {
 
     public static final Pattern FILTER_ENGLISH = Pattern.compile(any(Regexes.INFINITIVE_TO, Regexes.PARENTHESIS));
     public static final Pattern FILTER_GERMAN = Pattern.compile(Regexes.PARENTHESIS);
@@ -47,18 +48,10 @@ public class WoerterbuchTranslator implements Translator {
      * @return the ASCII-encoded URL.
      */
     public static String urlFor(String term) {
-        try {
-            return new URIBuilder()
-                    .setScheme("http")
-                    .setHost("www.woerterbuch.info")
-                    .setParameter("s", "dict") // as opposed to 'thesaurus', which would search for synonyms
-                    .setParameter("l", "en") // only from german to <l> where l is 'en', 'fr', etc.
-                    .setParameter("query", term)
-                    .build().toASCIIString();
-        } catch (URISyntaxException e) {
-            LOG.error("URI syntax is wrong, this needs a fix", e);
-            return "";
-        }
+        return "http://www.woerterbuch.info"
+                + "?s=dict" // as opposed to 'thesaurus', which would search for synonyms
+                + "&l=en" // only from german to <l> where l is 'en', 'fr', etc.
+                + "&query=" + Queries.urlEncode(term);
     }
 
     /**
@@ -78,7 +71,67 @@ public class WoerterbuchTranslator implements Translator {
      */
 	@Override
 	public Set<Translation> translate(String term, SourceLanguage source) {
-		Either<String, Exception> content = curler.get(urlFor(term));
+		return parse(term, source, fetch(term, source));
+	}
+
+    /**
+     * Translates the given term, stopping after maxResults translations.
+     * @param term to be translated.
+     * @param source SourceLanguage in which the term is queried.
+     * @param maxResults maximum number of translations.
+     * @return the set of translations in the target language.
+     */
+    @Override
+    public Set<Translation> translate(String term, SourceLanguage source, int maxResults) {
+        return parse(term, source, fetch(term, source, maxResults), maxResults);
+    }
+
+    /**
+     * Fetches the result page for the given term from woerterbuch.info.
+     * @param term to be translated.
+     * @param source SourceLanguage in which the term is queried.
+     * @return either the HTML of the result page or the Exception of the failed GET request.
+     */
+    @Override
+    public Either<String, Exception> fetch(String term, SourceLanguage source) {
+        return curler.get(urlFor(term));
+    }
+
+    /**
+     * Fetches the result page for the given term from woerterbuch.info, which cannot be asked for fewer results.
+     * @param term to be translated.
+     * @param source SourceLanguage in which the term is queried.
+     * @param maxResults ignored.
+     * @return either the HTML of the result page or the Exception of the failed GET request.
+     */
+    @Override
+    public Either<String, Exception> fetch(String term, SourceLanguage source, int maxResults) {
+        return fetch(term, source);
+    }
+
+    /**
+     * Extracts the translations out of a previously fetched result page.
+     * @param term to be translated.
+     * @param source SourceLanguage in which the term is queried.
+     * @param content either the HTML of the result page or the Exception of the failed GET request.
+     * @return the set of translations in the target language.
+     */
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage source, Either<String, Exception> content) {
+        return parse(term, source, content, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Extracts at most maxResults translations out of a previously fetched result page.
+     * @param term to be translated.
+     * @param source SourceLanguage in which the term is queried.
+     * @param content either the HTML of the result page or the Exception of the failed GET request.
+     * @param maxResults maximum number of translations.
+     * @return the set of translations in the target language.
+     */
+    @Override
+    public Set<Translation> parse(String term, SourceLanguage source, Either<String, Exception> content,
+                                  int maxResults) {
         if (content.isRight()) {
             // Get request failed and the right type is present. We can lookup the Exception
             Exception e = content.right().value();
@@ -93,11 +146,18 @@ public class WoerterbuchTranslator implements Translator {
 
         // The left type is present, so the GET request was successful and
         // we can extractTranslations the inner string value
-        return extractTranslations(source, Jsoup.parse(content.left().value()));
+        String html = content.left().value();
+        Set<Translation> translations = extractTranslations(source, Jsoup.parse(html), maxResults);
+        // Nothing found on a page cut off mid-transfer does not mean the term is unknown.
+        if (translations.isEmpty() && !Pages.isComplete(html)) {
+            LOG.warn("Incomplete result page.");
+            return TranslationSet.failed();
+        }
+        return translations;
 	}
 
     @SuppressWarnings("unchecked")
-    private Set<Translation> extractTranslations(SourceLanguage source, Document doc) {
+    private Set<Translation> extractTranslations(SourceLanguage source, Document doc, int limit) {
         // The following machine parses only the direct hits out of the HTML soup.
         MealyMachine<State, Element, Option<Translation>> parser = MealyMachine.fromTransitions(
                 State.BEFORE,
@@ -107,26 +167,28 @@ public class WoerterbuchTranslator implements Translator {
                 when(State.FINISHED).then(doNothing)
         );
 
-        // Just feed the relevant elements into the machine until it is finished.
-        // Thereby adding translations to the set.
-        Set<Translation> translations = new HashSet<>();
+        // Just feed the relevant elements into the machine until it is finished, we have enough or the
+        // translation has been cancelled. Thereby adding translations to the set.
+        TranslationSet.Builder translations = TranslationSet.builder();
         for (Element e : doc.select("table table tr")) {
-            if (parser.getState() == State.FINISHED) {
+            if (parser.getState() == State.FINISHED || translations.size() >= limit) {
                 break;
             }
+            CancellationToken.throwIfCurrentCancelled();
             Option<Translation> t = parser.step(e);
             if (t.isSome()) {
                 translations.add(t.some());
             }
         }
 
+        TranslationSet result = translations.build();
         if (LOG.isTraceEnabled()) {
-            for (Translation t : translations) {
+            for (Translation t : result) {
                 LOG.trace(t);
             }
         }
 
-        return translations;
+        return result;
     }
 
     private F<Element, P2<State, Option<Translation>>> lookOutForSourceLangHeader(final SourceLanguage source) {
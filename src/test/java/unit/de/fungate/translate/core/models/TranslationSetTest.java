@@ -0,0 +1,84 @@
+package unit.de.fungate.translate.core.models;
+
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TranslationSetTest {
+
+    private static final Translation WALL = new Translation("wall", "Wand");
+    private static final Translation THEREFORE = new Translation("therefore", "daher");
+    private static final Translation HENCE = new Translation("hence", "daher");
+
+    @Test
+    public void shouldDropDuplicatesAndKeepInsertionOrder() {
+        TranslationSet.Builder builder = TranslationSet.builder();
+        assertTrue(builder.add(WALL));
+        assertTrue(builder.add(THEREFORE));
+        assertFalse(builder.add(new Translation("wall", "Wand")));
+        TranslationSet set = builder.build();
+
+        assertEquals(2, set.size());
+        assertEquals(Arrays.asList(WALL, THEREFORE), new ArrayList<>(set));
+        assertTrue(set.contains(new Translation("therefore", "daher")));
+        assertFalse(set.contains(HENCE));
+        assertFalse(set.contains("wall"));
+    }
+
+    @Test
+    public void shouldBeEqualToHashSetWithSameElements() {
+        Set<Translation> expected = new HashSet<>(Arrays.asList(WALL, THEREFORE, HENCE));
+        TranslationSet set = TranslationSet.copyOf(Arrays.asList(HENCE, WALL, THEREFORE, WALL));
+        assertEquals(expected, set);
+        assertEquals(set, expected);
+        assertEquals(expected.hashCode(), set.hashCode());
+    }
+
+    @Test
+    public void shouldIterateSortedVariantInNaturalOrder() {
+        TranslationSet sorted = TranslationSet.copyOf(Arrays.asList(WALL, THEREFORE, HENCE)).sorted();
+        assertEquals(Arrays.asList(HENCE, THEREFORE, WALL), new ArrayList<>(sorted));
+        assertSame(sorted, sorted.sorted());
+        assertTrue(sorted.contains(WALL));
+    }
+
+    @Test
+    public void shouldMergeManyTranslations() {
+        TranslationSet.Builder first = TranslationSet.builder();
+        TranslationSet.Builder second = TranslationSet.builder();
+        for (int i = 0; i < 1000; i++) {
+            first.add(new Translation("term" + i, "Begriff" + i));
+            second.add(new Translation("term" + (i + 500), "Begriff" + (i + 500)));
+        }
+        TranslationSet merged = TranslationSet.builder().addAll(first.build()).addAll(second.build()).build();
+
+        assertEquals(1500, merged.size());
+        for (int i = 0; i < 1500; i++) {
+            assertTrue(merged.contains(new Translation("term" + i, "Begriff" + i)));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldBeImmutable() {
+        TranslationSet.copyOf(Arrays.asList(WALL)).add(THEREFORE);
+    }
+
+    @Test
+    public void shouldShareTheEmptySet() {
+        List<Translation> none = new ArrayList<>();
+        assertSame(TranslationSet.of(), TranslationSet.copyOf(none));
+        assertFalse(TranslationSet.of().contains(WALL));
+        assertFalse(TranslationSet.of().iterator().hasNext());
+    }
+}
@@ -0,0 +1,35 @@
+package unit.de.fungate.translate.core.models;
+
+import de.fungate.translate.core.models.TermPool;
+import de.fungate.translate.core.models.Translation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TranslationTest {
+
+    @Test
+    public void shouldShareEqualTerms() {
+        Translation first = new Translation(new String("therefore"), new String("daher"));
+        Translation second = new Translation(new String("therefore"), new String("deshalb"));
+        assertSame(first.getEnglish(), second.getEnglish());
+        assertNotSame(first.getGerman(), second.getGerman());
+    }
+
+    @Test
+    public void shouldKeepHashCodeAndEquality() {
+        Translation translation = new Translation("wall", "Wand");
+        assertEquals(31 * "wall".hashCode() + "Wand".hashCode(), translation.hashCode());
+        assertEquals(new Translation(new String("wall"), new String("Wand")), translation);
+    }
+
+    @Test
+    public void shouldInternIntoOneInstancePerTerm() {
+        TermPool pool = new TermPool(4);
+        String canonical = pool.intern(new String("Häuschen"));
+        assertSame(canonical, pool.intern(new String("Häuschen")));
+        assertEquals(1, pool.size());
+    }
+}
@@ -0,0 +1,86 @@
+package unit.de.fungate.translate.core.services;
+
+import de.fungate.translate.core.services.CancellationToken;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CancellationTokenTest {
+
+    private final AtomicInteger aborted = new AtomicInteger();
+    private final Runnable abort = new Runnable() {
+        @Override
+        public void run() {
+            aborted.incrementAndGet();
+        }
+    };
+
+    @After
+    public void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    public void shouldRunListenersOnceOnCancel() {
+        CancellationToken token = new CancellationToken();
+        token.onCancel(abort);
+        token.cancel();
+        token.cancel();
+
+        assertTrue(token.isCancelled());
+        assertEquals(1, aborted.get());
+        token.onCancel(abort);
+        assertEquals(2, aborted.get());
+    }
+
+    @Test
+    public void shouldNotRunClosedRegistrations() {
+        CancellationToken token = new CancellationToken();
+        token.onCancel(abort).close();
+        token.cancel();
+
+        assertEquals(0, aborted.get());
+    }
+
+    @Test
+    public void shouldBindTokensToTheCurrentThread() {
+        CancellationToken outer = new CancellationToken();
+        CancellationToken inner = new CancellationToken();
+        CancellationToken.Scope o = outer.bind();
+        CancellationToken.Scope i = inner.bind();
+        CancellationToken.onCurrentCancel(abort);
+        inner.cancel();
+        assertTrue(CancellationToken.isCurrentCancelled());
+        i.close();
+        assertFalse(CancellationToken.isCurrentCancelled());
+        o.close();
+        assertEquals(1, aborted.get());
+        CancellationToken.onCurrentCancel(abort).close();
+        assertFalse(CancellationToken.isCurrentCancelled());
+    }
+
+    @Test
+    public void shouldTreatInterruptsAsCancellation() {
+        Thread.currentThread().interrupt();
+        assertTrue(CancellationToken.isCurrentCancelled());
+    }
+
+    @Test(expected = CancellationException.class)
+    public void shouldThrowIfTheCurrentTranslationIsCancelled() {
+        CancellationToken token = new CancellationToken();
+        CancellationToken.Scope scope = token.bind();
+        try {
+            CancellationToken.throwIfCurrentCancelled();
+            token.cancel();
+            CancellationToken.throwIfCurrentCancelled();
+        } finally {
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package unit.de.fungate.translate.core.services;
+
+import de.fungate.translate.core.services.Pages;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PagesTest {
+
+    @Test
+    public void shouldAcceptPagesEndingWithTheirClosingTag() {
+        assertTrue(Pages.isComplete("<html><body></body></html>"));
+        assertTrue(Pages.isComplete("<HTML><BODY></BODY></HTML>\r\n"));
+    }
+
+    @Test
+    public void shouldRejectTruncatedPages() {
+        assertFalse(Pages.isComplete("<html><body><table><tr>"));
+        assertFalse(Pages.isComplete("</html><p>"));
+        assertFalse(Pages.isComplete(""));
+    }
+}
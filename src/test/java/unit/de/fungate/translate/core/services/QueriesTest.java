@@ -0,0 +1,75 @@
+package unit.de.fungate.translate.core.services;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.NormalizingTranslator;
+import de.fungate.translate.core.services.Queries;
+import de.fungate.translate.core.services.Translator;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class QueriesTest {
+
+    @Test
+    public void shouldCollapseAndTrimWhitespace() {
+        assertEquals("apple pie", Queries.normalize(" apple \t pie "));
+    }
+
+    @Test
+    public void shouldComposeUmlauts() {
+        assertEquals("H\u00E4uschen", Queries.normalize("Ha\u0308uschen"));
+    }
+
+    @Test
+    public void shouldFoldCase() {
+        assertEquals("apple pie", Queries.fold("Apple  PIE"));
+        assertEquals("fu\u00DFball", Queries.fold("Fu\u00DFball"));
+    }
+
+    @Test
+    public void shouldEncodeSpacesAndUmlautsUniformly() {
+        assertEquals("apple+pie", Queries.urlEncode("apple pie"));
+        assertEquals("H%C3%A4uschen", Queries.urlEncode("H\u00E4uschen"));
+    }
+
+    @Test
+    public void shouldNotAskTranslatorsForBlankTerms() {
+        Translator translator = mock(Translator.class);
+        assertTrue(new NormalizingTranslator(translator, true).translate(" \t", SourceLanguage.GERMAN).isEmpty());
+        verify(translator, never()).translate(anyString(), any(SourceLanguage.class));
+    }
+
+    @Test
+    public void shouldRaiseTheHitRateOfTheReplayedQueryLog() throws IOException {
+        @SuppressWarnings("unchecked")
+        List<String> log = IOUtils.readLines(getClass().getResourceAsStream("/queries/query.log"), "UTF-8");
+        Set<String> verbatim = new HashSet<>();
+        Set<String> normalized = new HashSet<>();
+        Set<String> folded = new HashSet<>();
+        for (String line : log) {
+            String[] query = line.split("\t", 2);
+            verbatim.add(query[0] + query[1]);
+            normalized.add(query[0] + Queries.normalize(query[1]));
+            folded.add(query[0] + Queries.fold(query[1]));
+        }
+        // an unbounded cache misses exactly once per distinct key
+        double verbatimHitRate = 1 - (double) verbatim.size() / log.size();
+        double normalizedHitRate = 1 - (double) normalized.size() / log.size();
+        double foldedHitRate = 1 - (double) folded.size() / log.size();
+        assertTrue(verbatimHitRate < normalizedHitRate);
+        assertTrue(normalizedHitRate < foldedHitRate);
+        assertEquals(15, folded.size());
+    }
+}
@@ -0,0 +1,92 @@
+package unit.de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.caches.BidirectionalCachingTranslator;
+import de.fungate.translate.core.services.caches.TranslationIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BidirectionalCachingTranslatorTest {
+
+    private static final Set<Translation> WAND = new HashSet<>(Arrays.asList(
+            new Translation("wall", "Wand"), new Translation("partition", "Wand {f}")));
+    private static final Set<Translation> TO_WALL = Collections.singleton(new Translation("to wall", "ummauern"));
+
+    private Translator translator;
+    private long now;
+    private TranslationIndex index;
+
+    @Before
+    public void makeIndex() {
+        translator = mock(Translator.class);
+        index = new TranslationIndex(100, 10) {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void shouldAnswerReverseQueriesFromEarlierResults() {
+        when(translator.translate("Wand", SourceLanguage.GERMAN)).thenReturn(WAND);
+        BidirectionalCachingTranslator cache = new BidirectionalCachingTranslator(translator, index, 1);
+
+        assertEquals(WAND, cache.translate("Wand", SourceLanguage.GERMAN));
+        assertEquals(Collections.singleton(new Translation("wall", "Wand")),
+                cache.translate("Wall", SourceLanguage.ENGLISH));
+        assertEquals(WAND, cache.translate("wand", SourceLanguage.GERMAN));
+        verify(translator, never()).translate(anyString(), eq(SourceLanguage.ENGLISH));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldMatchTermsByTheirDictionaryKey() {
+        index.add(TO_WALL);
+        assertEquals(TO_WALL, index.lookup("wall", SourceLanguage.ENGLISH));
+        assertEquals(TO_WALL, index.lookup("to wall", SourceLanguage.ENGLISH));
+        assertEquals(TO_WALL, index.lookup("Ummauern", SourceLanguage.GERMAN));
+    }
+
+    @Test
+    public void shouldMergeResultsOfBothDirections() {
+        index.add(Collections.singleton(new Translation("therefore", "daher")));
+        index.add(Collections.singleton(new Translation("therefore", "deshalb")));
+        assertEquals(2, index.lookup("therefore", SourceLanguage.ENGLISH).size());
+        assertEquals(1, index.lookup("daher", SourceLanguage.GERMAN).size());
+    }
+
+    @Test
+    public void shouldAskTranslatorWhenTooFewTranslationsAreKnown() {
+        index.add(Collections.singleton(new Translation("wall", "Wand")));
+        when(translator.translate("Wall", SourceLanguage.ENGLISH)).thenReturn(WAND);
+        BidirectionalCachingTranslator cache = new BidirectionalCachingTranslator(translator, index, 2);
+
+        assertEquals(WAND, cache.translate("Wall", SourceLanguage.ENGLISH));
+        verify(translator).translate("Wall", SourceLanguage.ENGLISH);
+    }
+
+    @Test
+    public void shouldForgetExpiredTerms() {
+        index.add(WAND);
+        now = 101;
+        assertTrue(index.lookup("Wand", SourceLanguage.GERMAN).isEmpty());
+    }
+}
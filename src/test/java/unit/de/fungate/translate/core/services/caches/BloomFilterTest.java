@@ -0,0 +1,50 @@
+package unit.de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.services.caches.BloomFilter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BloomFilterTest {
+
+    @Test
+    public void shouldContainEverythingPut() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(BloomFilter.hash("term" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain(BloomFilter.hash("term" + i)));
+        }
+    }
+
+    @Test
+    public void shouldKeepTheFalsePositiveRateNearTheConfiguredOne() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(BloomFilter.hash("term" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(BloomFilter.hash("other" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives: " + falsePositives, falsePositives < 300);
+    }
+
+    @Test
+    public void shouldSeparateParts() {
+        BloomFilter filter = new BloomFilter(10, 0.001);
+        filter.put(BloomFilter.hash("ab", "c"));
+        assertFalse(filter.mightContain(BloomFilter.hash("a", "bc")));
+    }
+
+    @Test
+    public void shouldHashThreePartsLikeTheVarargsVersion() {
+        CharSequence[] parts = {"dict.cc", "GERMAN", "Wand"};
+        assertEquals(BloomFilter.hash(parts), BloomFilter.hash("dict.cc", "GERMAN", "Wand"));
+    }
+}
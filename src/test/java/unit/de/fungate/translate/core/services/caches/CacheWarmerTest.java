@@ -0,0 +1,115 @@
+package unit.de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.caches.CacheWarmer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CacheWarmerTest {
+
+    private Translator cache;
+    private List<CacheWarmer.PopularTerm> popular;
+    private long now;
+
+    @Before
+    public void readLog() throws IOException {
+        cache = mock(Translator.class);
+        when(cache.translate(anyString(), any(SourceLanguage.class))).thenReturn(Collections.<Translation>emptySet());
+        when(cache.translate("apple pie", SourceLanguage.ENGLISH))
+                .thenReturn(Collections.singleton(new Translation("apple pie", "Apfelkuchen")));
+        when(cache.translate("wand", SourceLanguage.GERMAN))
+                .thenReturn(Collections.singleton(new Translation("wall", "Wand")));
+        try (Reader in = new InputStreamReader(getClass().getResourceAsStream("/queries/query.log"), "UTF-8")) {
+            popular = CacheWarmer.readQueryLog(in, true);
+        }
+    }
+
+    @Test
+    public void shouldCountNormalizedQueriesMostPopularFirst() {
+        assertEquals(15, popular.size());
+        assertEquals("apple pie", popular.get(0).getTerm());
+        assertEquals(SourceLanguage.ENGLISH, popular.get(0).getSource());
+        assertEquals(6, popular.get(0).getCount());
+        assertEquals("wand", popular.get(1).getTerm());
+        assertEquals(5, popular.get(1).getCount());
+        assertEquals("nach hause gehen", popular.get(2).getTerm());
+    }
+
+    @Test
+    public void shouldWarmTheTopTermsAtTheGivenRate() {
+        CacheWarmer.Report report = warmer(3, 10000).warm(popular);
+
+        verify(cache).translate("nach hause gehen", SourceLanguage.GERMAN);
+        verify(cache, never()).translate("therefore", SourceLanguage.ENGLISH);
+        assertEquals(2, report.getWarmedCount());
+        assertEquals(1, report.getEmptyCount());
+        // two pauses of 500 ms between three translations at 2 queries per second
+        assertEquals(1000, report.getDurationMillis());
+        assertEquals(11.0 / 41, report.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void shouldStopAfterTheMaximumDuration() {
+        CacheWarmer.Report report = warmer(15, 1200).warm(popular);
+
+        assertEquals(2, report.getWarmedCount());
+        assertEquals(1, report.getEmptyCount());
+        verify(cache, never()).translate("therefore", SourceLanguage.ENGLISH);
+    }
+
+    @Test
+    public void shouldStopOnceInterrupted() {
+        CacheWarmer warmer = new CacheWarmer(cache, 15, 2, 10000) {
+            @Override
+            protected long now() {
+                return now;
+            }
+
+            @Override
+            protected void sleep(long millis) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            CacheWarmer.Report report = warmer.warm(popular);
+
+            assertEquals(1, report.getWarmedCount());
+            assertEquals(0, report.getEmptyCount());
+            verify(cache, never()).translate("wand", SourceLanguage.GERMAN);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private CacheWarmer warmer(int topN, long maxDurationMillis) {
+        return new CacheWarmer(cache, topN, 2, maxDurationMillis) {
+            @Override
+            protected long now() {
+                return now;
+            }
+
+            @Override
+            protected void sleep(long millis) {
+                now += millis;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package unit.de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.caches.CachingTranslator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingTranslatorTest {
+
+    private static final Set<Translation> OLD = Collections.singleton(new Translation("wall", "Wand"));
+    private static final Set<Translation> NEW = Collections.singleton(new Translation("septum", "Wand"));
+
+    private Translator translator;
+    private List<Runnable> scheduled;
+    private long now;
+    private CachingTranslator cache;
+
+    @Before
+    public void makeCache() {
+        translator = mock(Translator.class);
+        scheduled = new ArrayList<>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                scheduled.add(command);
+            }
+        };
+        cache = new CachingTranslator(translator, 100, 50, 10, executor) {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void shouldServeFreshEntriesFromTheCache() {
+        when(translator.translate("Wand", SourceLanguage.GERMAN)).thenReturn(OLD);
+        assertEquals(OLD, cache.translate("Wand", SourceLanguage.GERMAN));
+        now = 100;
+        assertEquals(OLD, cache.translate("Wand", SourceLanguage.GERMAN));
+        verify(translator, times(1)).translate("Wand", SourceLanguage.GERMAN);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldServeStaleEntriesWhileRefreshingOnce() {
+        when(translator.translate("Wand", SourceLanguage.GERMAN)).thenReturn(OLD).thenReturn(NEW);
+        cache.translate("Wand", SourceLanguage.GERMAN);
+        now = 120;
+        assertEquals(OLD, cache.translate("Wand", SourceLanguage.GERMAN));
+        assertEquals(OLD, cache.translate("Wand", SourceLanguage.GERMAN));
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+        assertEquals(NEW, cache.translate("Wand", SourceLanguage.GERMAN));
+        verify(translator, times(2)).translate("Wand", SourceLanguage.GERMAN);
+        assertEquals(2, cache.getStaleHitCount());
+    }
+
+    @Test
+    public void shouldKeepStaleEntriesWhenTheRefreshYieldsNothing() {
+        when(translator.translate("Wand", SourceLanguage.GERMAN))
+                .thenReturn(OLD).thenReturn(Collections.<Translation>emptySet());
+        cache.translate("Wand", SourceLanguage.GERMAN);
+        now = 120;
+        cache.translate("Wand", SourceLanguage.GERMAN);
+        scheduled.get(0).run();
+        assertEquals(OLD, cache.translate("Wand", SourceLanguage.GERMAN));
+        assertEquals(2, scheduled.size());
+    }
+
+    @Test
+    public void shouldLoadExpiredEntriesSynchronously() {
+        when(translator.translate("Wand", SourceLanguage.GERMAN)).thenReturn(OLD).thenReturn(NEW);
+        cache.translate("Wand", SourceLanguage.GERMAN);
+        now = 151;
+        assertEquals(NEW, cache.translate("Wand", SourceLanguage.GERMAN));
+        assertTrue(scheduled.isEmpty());
+        assertEquals(2, cache.getMissCount());
+    }
+}
@@ -0,0 +1,93 @@
+package unit.de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.caches.NegativeCachingTranslator;
+import de.fungate.translate.core.services.caches.NegativeResultCache;
+import de.fungate.translate.core.services.translators.DictccTranslator;
+import de.fungate.translate.core.services.translators.LeoTranslator;
+import fj.data.Either;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NegativeCachingTranslatorTest {
+
+    private static final String NONSENSE_URL = "http://de-en.dict.cc/?s=wnad";
+    private Curler curler;
+    private NegativeResultCache cache;
+    private Translator translator;
+
+    @Before
+    public void makeTranslator() {
+        curler = mock(Curler.class);
+        cache = new NegativeResultCache(60000, 100);
+        translator = new NegativeCachingTranslator<>(new DictccTranslator(curler), cache);
+    }
+
+    @Test
+    public void shouldFetchUnknownTermsOnlyOnce() {
+        when(curler.get(NONSENSE_URL)).thenReturn(Either.<String, Exception>left("<html><body></body></html>"));
+        assertTrue(translator.translate("wnad", SourceLanguage.GERMAN).isEmpty());
+        assertTrue(translator.translate("wnad", SourceLanguage.GERMAN).isEmpty());
+        verify(curler, times(1)).get(NONSENSE_URL);
+        assertTrue(cache.isKnownEmpty("dict.cc", "wnad", SourceLanguage.GERMAN));
+        assertFalse(cache.isKnownEmpty("dict.cc", "wnad", SourceLanguage.ENGLISH));
+    }
+
+    @Test
+    public void shouldNotRememberFailedRequests() {
+        when(curler.get(NONSENSE_URL)).thenReturn(Either.<String, Exception>right(new IOException("timeout")));
+        translator.translate("wnad", SourceLanguage.GERMAN);
+        translator.translate("wnad", SourceLanguage.GERMAN);
+        verify(curler, times(2)).get(NONSENSE_URL);
+        assertFalse(cache.isKnownEmpty("dict.cc", "wnad", SourceLanguage.GERMAN));
+    }
+
+    @Test
+    public void shouldNotRememberContentThatCouldNotBeParsed() {
+        String url = new LeoTranslator(curler).buildURL("wnad", SourceLanguage.GERMAN);
+        when(curler.getStream(url))
+                .thenReturn(Either.<InputStream, Exception>left(truncatedXml()))
+                .thenReturn(Either.<InputStream, Exception>left(truncatedXml()));
+        Translator leo = new NegativeCachingTranslator<>(new LeoTranslator(curler), cache);
+        assertTrue(leo.translate("wnad", SourceLanguage.GERMAN).isEmpty());
+        assertTrue(leo.translate("wnad", SourceLanguage.GERMAN).isEmpty());
+        verify(curler, times(2)).getStream(url);
+        assertFalse(cache.isKnownEmpty("leo.org", "wnad", SourceLanguage.GERMAN));
+    }
+
+    @Test
+    public void shouldNotRememberTruncatedPages() {
+        when(curler.get(NONSENSE_URL))
+                .thenReturn(Either.<String, Exception>left("<html><body><table>"))
+                .thenReturn(Either.<String, Exception>left("<html><body><table>"));
+        assertTrue(translator.translate("wnad", SourceLanguage.GERMAN).isEmpty());
+        assertTrue(translator.translate("wnad", SourceLanguage.GERMAN).isEmpty());
+        verify(curler, times(2)).get(NONSENSE_URL);
+        assertFalse(cache.isKnownEmpty("dict.cc", "wnad", SourceLanguage.GERMAN));
+    }
+
+    @Test
+    public void shouldForgetEmptyResultsAfterTheirTimeToLive() throws InterruptedException {
+        NegativeResultCache shortLived = new NegativeResultCache(1, 100);
+        shortLived.recordEmpty("dict.cc", "wnad", SourceLanguage.GERMAN);
+        Thread.sleep(5);
+        assertFalse(shortLived.isKnownEmpty("dict.cc", "wnad", SourceLanguage.GERMAN));
+    }
+
+    private static InputStream truncatedXml() {
+        return new ByteArrayInputStream("<xml><part><entry><side lang=\"de\">".getBytes());
+    }
+}
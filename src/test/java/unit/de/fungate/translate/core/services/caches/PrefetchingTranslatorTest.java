@@ -0,0 +1,150 @@
+package unit.de.fungate.translate.core.services.caches;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.SynonymProvider;
+import de.fungate.translate.core.services.caches.CachingTranslator;
+import de.fungate.translate.core.services.caches.PrefetchingTranslator;
+import de.fungate.translate.core.services.concurrent.Bulkhead;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PrefetchingTranslatorTest {
+
+    private static final Set<Translation> WAND = new LinkedHashSet<>(Arrays.asList(
+            new Translation("wall", "Wand"), new Translation("partition", "Wand")));
+
+    private CachingTranslator cache;
+    private SynonymProvider synonyms;
+    private List<Runnable> scheduled;
+    private Executor executor;
+    private Bulkhead provider;
+
+    @Before
+    public void makeMocks() {
+        cache = mock(CachingTranslator.class);
+        when(cache.translate(anyString(), any(SourceLanguage.class))).thenReturn(Collections.<Translation>emptySet());
+        when(cache.translate("Wand", SourceLanguage.GERMAN)).thenReturn(WAND);
+        synonyms = mock(SynonymProvider.class);
+        when(synonyms.getSynonyms("Wand", SourceLanguage.GERMAN))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("Mauer", "Trennwand")));
+        scheduled = new ArrayList<>();
+        executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                scheduled.add(command);
+            }
+        };
+        provider = new Bulkhead("dict.cc", 4, 0, 0);
+    }
+
+    @Test
+    public void shouldPrefetchSynonymsAndTargetsInTheBackground() {
+        PrefetchingTranslator prefetching = prefetching(new Bulkhead("prefetch", 2, 0, 0), 10);
+        assertEquals(WAND, prefetching.translate("Wand", SourceLanguage.GERMAN));
+        verify(cache, never()).translate("Mauer", SourceLanguage.GERMAN);
+
+        runScheduled();
+        verify(cache).translate("Mauer", SourceLanguage.GERMAN);
+        verify(cache).translate("Trennwand", SourceLanguage.GERMAN);
+        verify(cache).translate("wall", SourceLanguage.ENGLISH);
+        verify(cache).translate("partition", SourceLanguage.ENGLISH);
+        assertEquals(4, prefetching.getPrefetchCount());
+    }
+
+    @Test
+    public void shouldPrefetchAtMostMaxRelatedTerms() {
+        PrefetchingTranslator prefetching = prefetching(new Bulkhead("prefetch", 2, 0, 0), 3);
+        prefetching.translate("Wand", SourceLanguage.GERMAN);
+        runScheduled();
+
+        verify(cache).translate("wall", SourceLanguage.ENGLISH);
+        verify(cache, never()).translate("partition", SourceLanguage.ENGLISH);
+        assertEquals(3, prefetching.getPrefetchCount());
+    }
+
+    @Test
+    public void shouldNotPrefetchWhileProvidersAreBusy() {
+        PrefetchingTranslator prefetching = prefetching(new Bulkhead("prefetch", 2, 0, 0), 10);
+        assertTrue(provider.tryAcquire());
+        assertTrue(provider.tryAcquire());
+        assertTrue(provider.tryAcquire());
+        prefetching.translate("Wand", SourceLanguage.GERMAN);
+
+        assertTrue(scheduled.isEmpty());
+        verify(synonyms, never()).getSynonyms("Wand", SourceLanguage.GERMAN);
+    }
+
+    @Test
+    public void shouldSkipPrefetchesBeyondTheBudget() {
+        Bulkhead budget = new Bulkhead("prefetch", 1, 0, 0);
+        PrefetchingTranslator prefetching = prefetching(budget, 10);
+        prefetching.translate("Wand", SourceLanguage.GERMAN);
+        assertTrue(budget.tryAcquire());
+        runScheduled();
+
+        verify(synonyms, never()).getSynonyms("Wand", SourceLanguage.GERMAN);
+        verify(cache, never()).translate("Mauer", SourceLanguage.GERMAN);
+        assertEquals(0, prefetching.getPrefetchCount());
+        assertEquals(1, prefetching.getSkippedCount());
+    }
+
+    @Test
+    public void shouldNotPrefetchForCacheHits() {
+        when(cache.contains("Wand", SourceLanguage.GERMAN)).thenReturn(true);
+        PrefetchingTranslator prefetching = prefetching(new Bulkhead("prefetch", 2, 0, 0), 10);
+        assertEquals(WAND, prefetching.translate("Wand", SourceLanguage.GERMAN));
+
+        assertTrue(scheduled.isEmpty());
+        verify(synonyms, never()).getSynonyms("Wand", SourceLanguage.GERMAN);
+    }
+
+    @Test
+    public void shouldLookUpSynonymsWithinTheBudget() {
+        final Bulkhead budget = new Bulkhead("prefetch", 1, 0, 0);
+        when(synonyms.getSynonyms("Wand", SourceLanguage.GERMAN)).thenAnswer(new Answer<Set<String>>() {
+            @Override
+            public Set<String> answer(InvocationOnMock invocation) {
+                assertFalse(budget.tryAcquire());
+                return new LinkedHashSet<>(Arrays.asList("Mauer"));
+            }
+        });
+        PrefetchingTranslator prefetching = prefetching(budget, 10);
+        prefetching.translate("Wand", SourceLanguage.GERMAN);
+        runScheduled();
+
+        verify(cache).translate("Mauer", SourceLanguage.GERMAN);
+        assertEquals(0, budget.getActiveCount());
+    }
+
+    private PrefetchingTranslator prefetching(Bulkhead budget, int maxRelated) {
+        return new PrefetchingTranslator(cache, synonyms, executor, budget, Collections.singleton(provider),
+                maxRelated);
+    }
+
+    private void runScheduled() {
+        for (Runnable r : new ArrayList<>(scheduled)) {
+            r.run();
+        }
+    }
+}
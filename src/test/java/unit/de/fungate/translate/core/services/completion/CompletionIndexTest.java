@@ -0,0 +1,74 @@
+package unit.de.fungate.translate.core.services.completion;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.completion.CompletionIndex;
+import de.fungate.translate.core.services.completion.CompletionRecordingTranslator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompletionIndexTest {
+
+    private CompletionIndex index;
+
+    @Before
+    public void makeIndex() {
+        index = new CompletionIndex(3);
+    }
+
+    @Test
+    public void shouldRankCompletionsByFrequency() {
+        index.record("Wand", SourceLanguage.GERMAN);
+        index.record("Wandel", SourceLanguage.GERMAN);
+        index.record("Wandel", SourceLanguage.GERMAN);
+        index.record("Wald", SourceLanguage.GERMAN);
+        index.record("Haus", SourceLanguage.GERMAN);
+
+        assertEquals(Arrays.asList("Wandel", "Wald", "Wand"), index.complete("wa", SourceLanguage.GERMAN, 10));
+        assertEquals(Arrays.asList("Wandel", "Wand"), index.complete("WAN", SourceLanguage.GERMAN, 10));
+        assertEquals(Arrays.asList("Wandel"), index.complete("wa", SourceLanguage.GERMAN, 1));
+        assertTrue(index.complete("wa", SourceLanguage.ENGLISH, 10).isEmpty());
+        assertTrue(index.complete("x", SourceLanguage.GERMAN, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldPromoteTermsWhoseFrequencyGrows() {
+        for (String term : Arrays.asList("wall", "walk", "wallet", "waltz")) {
+            index.record(term, SourceLanguage.ENGLISH);
+        }
+        assertEquals(Arrays.asList("walk", "wall", "wallet"), index.complete("wal", SourceLanguage.ENGLISH, 3));
+
+        index.record("waltz", SourceLanguage.ENGLISH);
+        index.record("waltz", SourceLanguage.ENGLISH);
+        assertEquals(Arrays.asList("waltz", "walk", "wall"), index.complete("wal", SourceLanguage.ENGLISH, 3));
+        assertEquals(Arrays.asList("waltz"), index.complete("walt", SourceLanguage.ENGLISH, 3));
+    }
+
+    @Test
+    public void shouldLearnBothSidesOfReturnedTranslations() {
+        Translator translator = mock(Translator.class);
+        Set<Translation> translations = new HashSet<>(Arrays.asList(
+                new Translation("therefore", "daher"), new Translation("hence", "daher")));
+        when(translator.translate("daher", SourceLanguage.GERMAN)).thenReturn(translations);
+        when(translator.translate("xyz", SourceLanguage.GERMAN)).thenReturn(Collections.<Translation>emptySet());
+
+        Translator recording = new CompletionRecordingTranslator(translator, index);
+        recording.translate("daher", SourceLanguage.GERMAN);
+        recording.translate("xyz", SourceLanguage.GERMAN);
+
+        assertEquals(Arrays.asList("daher"), index.complete("d", SourceLanguage.GERMAN, 3));
+        assertEquals(Arrays.asList("hence"), index.complete("h", SourceLanguage.ENGLISH, 3));
+        assertEquals(Arrays.asList("therefore"), index.complete("the", SourceLanguage.ENGLISH, 3));
+    }
+}
@@ -0,0 +1,90 @@
+package unit.de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.concurrent.BulkheadTranslator;
+import de.fungate.translate.core.services.translators.DictccTranslator;
+import fj.data.Either;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.matchers.JUnitMatchers.hasItems;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BulkheadTranslatorTest {
+
+    private Curler curler;
+    private CountDownLatch fetchStarted;
+    private CountDownLatch releaseFetch;
+    private BulkheadTranslator<String> translator;
+
+    @Before
+    public void makeTranslator() throws IOException {
+        final String page = IOUtils.toString(getClass().getResourceAsStream("/dictcc/wandDE.html"));
+        fetchStarted = new CountDownLatch(1);
+        releaseFetch = new CountDownLatch(1);
+        curler = mock(Curler.class);
+        when(curler.get(anyString())).thenAnswer(new Answer<Either<String, Exception>>() {
+            @Override
+            public Either<String, Exception> answer(InvocationOnMock invocation) throws Throwable {
+                fetchStarted.countDown();
+                releaseFetch.await(5, TimeUnit.SECONDS);
+                return Either.left(page);
+            }
+        });
+        translator = BulkheadTranslator.guard(new DictccTranslator(curler), 1, 0, 0);
+    }
+
+    @Test
+    public void shouldRejectCallsBeyondTheLimitWithoutFetching() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Set<Translation>> slow = executor.submit(new Callable<Set<Translation>>() {
+                @Override
+                public Set<Translation> call() {
+                    return translator.translate("wand", SourceLanguage.GERMAN);
+                }
+            });
+            assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+
+            assertTrue(translator.translate("wand", SourceLanguage.GERMAN).isEmpty());
+            assertEquals(1, translator.getBulkhead().getRejectedCount());
+
+            releaseFetch.countDown();
+            assertThat(slow.get(), hasItems(new Translation("wall", "Wand")));
+            verify(curler, times(1)).get(anyString());
+            assertEquals(0, translator.getBulkhead().getActiveCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldLetCallsThroughAgainOnceTheSlotIsFree() {
+        releaseFetch.countDown();
+        assertThat(translator.translate("wand", SourceLanguage.GERMAN), hasItems(new Translation("wall", "Wand")));
+        assertThat(translator.translate("wand", SourceLanguage.GERMAN), hasItems(new Translation("wall", "Wand")));
+        assertEquals(2, translator.getBulkhead().getAcceptedCount());
+        assertEquals(0, translator.getBulkhead().getRejectedCount());
+    }
+}
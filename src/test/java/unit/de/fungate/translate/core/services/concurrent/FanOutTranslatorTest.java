@@ -0,0 +1,229 @@
+package unit.de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.LimitedTranslator;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.concurrent.BulkheadTranslator;
+import de.fungate.translate.core.services.concurrent.CompletionPolicy;
+import de.fungate.translate.core.services.concurrent.FanOutTranslator;
+import de.fungate.translate.core.services.concurrent.TranslationPipeline;
+import de.fungate.translate.core.services.metrics.InstrumentedTranslator;
+import de.fungate.translate.core.services.metrics.TranslationMetrics;
+import de.fungate.translate.core.services.ranking.RankedMerger;
+import fj.data.Either;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FanOutTranslatorTest {
+
+    private static final Translation WALL = new Translation("wall", "Wand");
+    private static final Translation PARTITION = new Translation("partition", "Wand");
+    private static final Translation FACE = new Translation("face", "Wand");
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private TranslationPipeline pipeline;
+    private Translator fast;
+    private Translator other;
+    private Translator hanging;
+
+    @Before
+    public void makeTranslators() {
+        pipeline = new TranslationPipeline(4, 1, 4);
+        fast = new FixedTranslator("fast", WALL, PARTITION);
+        other = new FixedTranslator("other", WALL, FACE);
+        hanging = new FixedTranslator("hanging") {
+            @Override
+            public Set<Translation> translate(String term, SourceLanguage source) {
+                started.countDown();
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return Collections.emptySet();
+            }
+        };
+    }
+
+    @After
+    public void shutdown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void shouldReturnOnceEnoughTranslationsAreCollected() throws InterruptedException {
+        FanOutTranslator fanOut = fanOut(CompletionPolicy.afterTranslations(3));
+        long start = System.nanoTime();
+        Set<Translation> translations = fanOut.translate("Wand", SourceLanguage.GERMAN);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(new HashSet<>(Arrays.asList(WALL, PARTITION, FACE)), translations);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(1, fanOut.getSkippedCount("hanging"));
+        assertEquals(0, fanOut.getSkippedCount("fast"));
+    }
+
+    @Test
+    public void shouldReturnOnceEnoughProvidersHaveAnswered() throws InterruptedException {
+        FanOutTranslator fanOut = fanOut(CompletionPolicy.afterProviders(1));
+        Set<Translation> translations = fanOut.translate("Wand", SourceLanguage.GERMAN);
+
+        assertTrue(translations.contains(WALL));
+        assertEquals(2, translations.size());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(1, fanOut.getSkippedCount("hanging"));
+    }
+
+    @Test
+    public void shouldReturnWhatIsDoneWhenTheBudgetIsUsedUp() {
+        FanOutTranslator fanOut = fanOut(CompletionPolicy.all());
+        Set<Translation> translations = fanOut.translate("Wand", SourceLanguage.GERMAN);
+
+        assertEquals(new HashSet<>(Arrays.asList(WALL, PARTITION, FACE)), translations);
+        assertEquals(1, fanOut.getSkippedCount("hanging"));
+    }
+
+    @Test
+    public void shouldReturnTheBestRankedTranslationsFirst() {
+        RankedMerger merger = new RankedMerger(Collections.<String, Double>emptyMap(), 1.0, true);
+        FanOutTranslator fanOut = new FanOutTranslator(Arrays.asList(hanging, fast, other), pipeline,
+                CompletionPolicy.afterProviders(2), 300, merger, 2);
+        Set<Translation> translations = fanOut.translate("Wand", SourceLanguage.GERMAN);
+
+        assertEquals(Arrays.asList(WALL, FACE), new ArrayList<>(translations));
+    }
+
+    @Test
+    public void shouldAskLimitedProvidersForNoMoreThanTheResultsReturned() {
+        RankedMerger merger = new RankedMerger(Collections.<String, Double>emptyMap(), 1.0, true);
+        CappedTranslator capped = new CappedTranslator(WALL, PARTITION, FACE);
+        FanOutTranslator fanOut = new FanOutTranslator(Collections.<Translator>singletonList(capped), pipeline,
+                CompletionPolicy.all(), 1000, merger, 2);
+        Set<Translation> translations = fanOut.translate("Wand", SourceLanguage.GERMAN);
+
+        assertEquals(Arrays.asList(2, 2), capped.limits);
+        assertEquals(new HashSet<>(Arrays.asList(WALL, PARTITION)), translations);
+    }
+
+    @Test
+    public void shouldAskDecoratedLimitedProvidersForNoMoreThanTheResultsReturned() {
+        RankedMerger merger = new RankedMerger(Collections.<String, Double>emptyMap(), 1.0, true);
+        CappedTranslator capped = new CappedTranslator(WALL, PARTITION, FACE);
+        Translator decorated = new InstrumentedTranslator<>(BulkheadTranslator.guard(capped, 4, 0, 0),
+                new TranslationMetrics(true));
+        FanOutTranslator fanOut = new FanOutTranslator(Collections.singletonList(decorated), pipeline,
+                CompletionPolicy.all(), 1000, merger, 2);
+        Set<Translation> translations = fanOut.translate("Wand", SourceLanguage.GERMAN);
+
+        assertEquals(Arrays.asList(2, 2), capped.limits);
+        assertEquals(new HashSet<>(Arrays.asList(WALL, PARTITION)), translations);
+    }
+
+    @Test
+    public void shouldNotLimitProvidersOfThePlainUnion() {
+        CappedTranslator capped = new CappedTranslator(WALL, PARTITION, FACE);
+        FanOutTranslator fanOut = new FanOutTranslator(Collections.<Translator>singletonList(capped), pipeline,
+                CompletionPolicy.all(), 1000);
+        Set<Translation> translations = fanOut.translate("Wand", SourceLanguage.GERMAN);
+
+        assertTrue(capped.limits.isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(WALL, PARTITION, FACE)), translations);
+    }
+
+    private FanOutTranslator fanOut(CompletionPolicy policy) {
+        return new FanOutTranslator(Arrays.asList(hanging, fast, other), pipeline, policy, 300);
+    }
+
+    /**
+     * Answers only once the hanging translator has started, so it is always interrupted, never skipped before it ran.
+     */
+    private class FixedTranslator implements Translator {
+        private final String provider;
+        private final Set<Translation> translations;
+
+        FixedTranslator(String provider, Translation... translations) {
+            this.provider = provider;
+            this.translations = new HashSet<>(Arrays.asList(translations));
+        }
+
+        @Override
+        public Set<Translation> translate(String term, SourceLanguage source) {
+            try {
+                started.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return translations;
+        }
+
+        @Override
+        public String getProvider() {
+            return provider;
+        }
+    }
+
+    /**
+     * Remembers the limits it is asked with, returning its translations in order up to the limit.
+     */
+    private static class CappedTranslator implements LimitedTranslator<List<Translation>> {
+        private final List<Translation> translations;
+        private final List<Integer> limits = Collections.synchronizedList(new ArrayList<Integer>());
+
+        CappedTranslator(Translation... translations) {
+            this.translations = Arrays.asList(translations);
+        }
+
+        @Override
+        public Set<Translation> translate(String term, SourceLanguage source, int maxResults) {
+            return parse(term, source, fetch(term, source, maxResults), maxResults);
+        }
+
+        @Override
+        public Either<List<Translation>, Exception> fetch(String term, SourceLanguage source, int maxResults) {
+            limits.add(maxResults);
+            return Either.left(translations.subList(0, Math.min(maxResults, translations.size())));
+        }
+
+        @Override
+        public Set<Translation> parse(String term, SourceLanguage source,
+                                      Either<List<Translation>, Exception> content, int maxResults) {
+            limits.add(maxResults);
+            return new HashSet<>(content.left().value());
+        }
+
+        @Override
+        public Set<Translation> translate(String term, SourceLanguage source) {
+            return new HashSet<>(translations);
+        }
+
+        @Override
+        public Either<List<Translation>, Exception> fetch(String term, SourceLanguage source) {
+            return Either.left(translations);
+        }
+
+        @Override
+        public Set<Translation> parse(String term, SourceLanguage source, Either<List<Translation>, Exception> content) {
+            return new HashSet<>(content.left().value());
+        }
+
+        @Override
+        public String getProvider() {
+            return "capped";
+        }
+    }
+}
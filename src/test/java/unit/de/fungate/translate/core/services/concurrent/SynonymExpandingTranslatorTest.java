@@ -0,0 +1,124 @@
+package unit.de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.SynonymProvider;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.concurrent.SynonymExpandingTranslator;
+import de.fungate.translate.core.services.concurrent.TranslationPipeline;
+import de.fungate.translate.core.services.synonymproviders.AsyncSynonymProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SynonymExpandingTranslatorTest {
+
+    private static final Translation ZOOM = new Translation("zoom", "Zoom");
+    private static final Translation SPEED = new Translation("speed", "rasen");
+    private static final Translation WHIR = new Translation("whir", "surren");
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Translator first;
+    private Translator second;
+    private SynonymProvider synonymProvider;
+    private ExecutorService executor;
+    private TranslationPipeline pipeline;
+
+    @Before
+    public void makeTranslators() {
+        first = mock(Translator.class);
+        second = mock(Translator.class);
+        when(first.translate(anyString(), any(SourceLanguage.class))).thenReturn(Collections.<Translation>emptySet());
+        when(second.translate(anyString(), any(SourceLanguage.class))).thenReturn(Collections.<Translation>emptySet());
+        when(first.translate("zoom", SourceLanguage.ENGLISH)).thenReturn(Collections.singleton(ZOOM));
+        when(second.translate("speed", SourceLanguage.ENGLISH)).thenReturn(Collections.singleton(SPEED));
+        when(first.translate("whir", SourceLanguage.ENGLISH)).thenReturn(Collections.singleton(WHIR));
+        synonymProvider = mock(SynonymProvider.class);
+        when(synonymProvider.getSynonyms("zoom", SourceLanguage.ENGLISH))
+                .thenReturn(new HashSet<>(Arrays.asList("speed", "whir", "ascend rapidly")));
+        executor = Executors.newFixedThreadPool(2);
+        pipeline = new TranslationPipeline(8, 2, 16);
+    }
+
+    @After
+    public void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void shouldMergeTranslationsOfTermAndShortestSynonyms() {
+        Translator expanding = expanding(2, 10);
+        Set<Translation> translations = expanding.translate("zoom", SourceLanguage.ENGLISH);
+
+        assertEquals(new HashSet<>(Arrays.asList(ZOOM, SPEED, WHIR)), translations);
+        verify(first, never()).translate("ascend rapidly", SourceLanguage.ENGLISH);
+    }
+
+    @Test
+    public void shouldRespectTheFanout() {
+        Translator expanding = expanding(2, 4);
+        Set<Translation> translations = expanding.translate("zoom", SourceLanguage.ENGLISH);
+
+        // zoom and whir take both providers each, exactly the fanout, so speed, the longer synonym, is left out
+        assertEquals(new HashSet<>(Arrays.asList(ZOOM, WHIR)), translations);
+        verify(first).translate("whir", SourceLanguage.ENGLISH);
+        verify(second).translate("whir", SourceLanguage.ENGLISH);
+        verify(first, never()).translate("speed", SourceLanguage.ENGLISH);
+        verify(second, never()).translate("speed", SourceLanguage.ENGLISH);
+    }
+
+    @Test
+    public void shouldUseTheFanoutUpToTheLastTranslation() {
+        Translator expanding = expanding(2, 5);
+        Set<Translation> translations = expanding.translate("zoom", SourceLanguage.ENGLISH);
+
+        // the fifth translation asks only the first provider for speed, only the second one knows it
+        assertEquals(new HashSet<>(Arrays.asList(ZOOM, WHIR)), translations);
+        verify(first).translate("speed", SourceLanguage.ENGLISH);
+        verify(second, never()).translate("speed", SourceLanguage.ENGLISH);
+    }
+
+    @Test
+    public void shouldReturnWhatIsDoneWithinTheBudget() {
+        when(second.translate("zoom", SourceLanguage.ENGLISH)).thenAnswer(new Answer<Set<Translation>>() {
+            @Override
+            public Set<Translation> answer(InvocationOnMock invocation) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return Collections.singleton(new Translation("zoom", "vergrößern"));
+            }
+        });
+        Translator expanding = expanding(2, 10);
+        long start = System.nanoTime();
+        Set<Translation> translations = expanding.translate("zoom", SourceLanguage.ENGLISH);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(new HashSet<>(Arrays.asList(ZOOM, SPEED, WHIR)), translations);
+    }
+
+    private Translator expanding(int maxSynonyms, int maxFanout) {
+        return new SynonymExpandingTranslator(Arrays.asList(first, second),
+                new AsyncSynonymProvider(synonymProvider, executor), pipeline, 300, maxSynonyms, maxFanout);
+    }
+}
@@ -0,0 +1,317 @@
+package unit.de.fungate.translate.core.services.concurrent;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.CancellationToken;
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.StagedTranslator;
+import de.fungate.translate.core.services.caches.CachingTranslator;
+import de.fungate.translate.core.services.caches.NegativeCachingTranslator;
+import de.fungate.translate.core.services.caches.NegativeResultCache;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.concurrent.TranslationPipeline;
+import de.fungate.translate.core.services.translators.DictccTranslator;
+import fj.data.Either;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.matchers.JUnitMatchers.hasItems;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TranslationPipelineTest {
+
+    private Curler curler;
+    private Translator translator;
+    private TranslationPipeline pipeline;
+
+    @Before
+    public void makePipeline() throws IOException {
+        curler = mock(Curler.class);
+        when(curler.get("http://de-en.dict.cc/?s=wand")).thenReturn(Either.<String, Exception>left(
+                IOUtils.toString(getClass().getResourceAsStream("/dictcc/wandDE.html"))));
+        when(curler.get("http://en-de.dict.cc/?s=wand")).thenReturn(Either.<String, Exception>right(
+                new IOException("connection refused")));
+        translator = new DictccTranslator(curler);
+        pipeline = new TranslationPipeline(4, 1, 1);
+    }
+
+    @After
+    public void shutdown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void shouldYieldTheSameTranslationsAsTheTranslator() throws Exception {
+        Set<Translation> staged = pipeline.submit(translator, "wand", SourceLanguage.GERMAN).get();
+        assertEquals(translator.translate("wand", SourceLanguage.GERMAN), staged);
+        assertThat(staged, hasItems(new Translation("wall", "Wand")));
+    }
+
+    @Test
+    public void shouldCompleteFailedFetchesWithAnEmptySet() throws Exception {
+        assertTrue(pipeline.submit(translator, "wand", SourceLanguage.ENGLISH).get().isEmpty());
+    }
+
+    @Test
+    public void shouldCompleteAllTranslationsWhenTheParseQueueIsFull() throws Exception {
+        List<Future<Set<Translation>>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(pipeline.submit(translator, "wand", SourceLanguage.GERMAN));
+        }
+        for (Future<Set<Translation>> f : futures) {
+            assertThat(f.get(), hasItems(new Translation("wall", "Wand")));
+        }
+        assertEquals(20, pipeline.getFetchedCount());
+        assertEquals(20, pipeline.getParsedCount());
+        assertTrue(pipeline.getMaxParseQueueDepth() <= 1);
+    }
+
+    @Test
+    public void shouldAbortTheRequestOfACancelledTranslation() throws Exception {
+        final CountDownLatch requested = new CountDownLatch(1);
+        final CountDownLatch aborted = new CountDownLatch(1);
+        when(curler.get("http://de-en.dict.cc/?s=haus")).thenAnswer(new Answer<Either<String, Exception>>() {
+            @Override
+            public Either<String, Exception> answer(InvocationOnMock invocation) {
+                CancellationToken.onCurrentCancel(new Runnable() {
+                    @Override
+                    public void run() {
+                        aborted.countDown();
+                    }
+                });
+                requested.countDown();
+                try {
+                    aborted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Either.right((Exception) new IOException("aborted"));
+            }
+        });
+        Future<Set<Translation>> translation = pipeline.submit(translator, "haus", SourceLanguage.GERMAN);
+        assertTrue(requested.await(1, TimeUnit.SECONDS));
+
+        assertTrue(translation.cancel(true));
+        assertTrue(aborted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldCacheNothingOfACancelledTranslation() throws Exception {
+        NegativeResultCache negative = new NegativeResultCache(60000, 100);
+        Translator dictcc = new NegativeCachingTranslator<>(new DictccTranslator(curler), negative);
+        CachingTranslator cache = new CachingTranslator(dictcc, 60000, 0, 100, mock(Executor.class));
+        CountDownLatch wandRequested = respondOnceCancelled("http://de-en.dict.cc/?s=wand",
+                IOUtils.toString(getClass().getResourceAsStream("/dictcc/wandDE.html")));
+        CountDownLatch wnadRequested = respondOnceCancelled("http://de-en.dict.cc/?s=wnad",
+                "<html><body></body></html>");
+
+        Future<Set<Translation>> wand = pipeline.submit(cache, "wand", SourceLanguage.GERMAN);
+        Future<Set<Translation>> wnad = pipeline.submit(cache, "wnad", SourceLanguage.GERMAN);
+        assertTrue(wandRequested.await(1, TimeUnit.SECONDS));
+        assertTrue(wnadRequested.await(1, TimeUnit.SECONDS));
+        assertTrue(wand.cancel(true));
+        assertTrue(wnad.cancel(true));
+        pipeline.shutdown();
+
+        assertEquals(0, cache.size());
+        assertFalse(negative.isKnownEmpty("dict.cc", "wand", SourceLanguage.GERMAN));
+        assertFalse(negative.isKnownEmpty("dict.cc", "wnad", SourceLanguage.GERMAN));
+    }
+
+    /**
+     * Stubs a request which completes with the given page only after its translation has been cancelled, so the
+     * translation is cancelled before it is parsed.
+     */
+    private CountDownLatch respondOnceCancelled(String url, final String page) {
+        final CountDownLatch requested = new CountDownLatch(1);
+        when(curler.get(url)).thenAnswer(new Answer<Either<String, Exception>>() {
+            @Override
+            public Either<String, Exception> answer(InvocationOnMock invocation) {
+                final CountDownLatch cancelled = new CountDownLatch(1);
+                CancellationToken.onCurrentCancel(new Runnable() {
+                    @Override
+                    public void run() {
+                        cancelled.countDown();
+                    }
+                });
+                requested.countDown();
+                try {
+                    cancelled.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Either.left(page);
+            }
+        });
+        return requested;
+    }
+
+    @Test
+    public void shouldInterruptTheFetchOfACancelledStagedTranslation() throws Exception {
+        HangingTranslator hanging = new HangingTranslator();
+        Future<Set<Translation>> translation = pipeline.submit(hanging, "wand", SourceLanguage.GERMAN);
+        assertTrue(hanging.fetching.await(1, TimeUnit.SECONDS));
+
+        assertTrue(translation.cancel(true));
+        assertTrue(hanging.interrupted.await(1, TimeUnit.SECONDS));
+        pipeline.shutdown();
+        assertEquals(1, pipeline.getFetchedCount());
+        assertEquals(0, pipeline.getParsedCount());
+        assertEquals(0, hanging.parses.get());
+    }
+
+    @Test
+    public void shouldSkipTheFetchOfAStagedTranslationCancelledBeforeItStarted() throws Exception {
+        TranslationPipeline single = new TranslationPipeline(1, 1, 1);
+        HangingTranslator running = new HangingTranslator();
+        HangingTranslator queued = new HangingTranslator();
+        Future<Set<Translation>> first = single.submit(running, "wand", SourceLanguage.GERMAN);
+        assertTrue(running.fetching.await(1, TimeUnit.SECONDS));
+        Future<Set<Translation>> second = single.submit(queued, "wand", SourceLanguage.GERMAN);
+
+        assertTrue(second.cancel(true));
+        assertTrue(first.cancel(true));
+        single.shutdown();
+        assertEquals(0, queued.fetches.get());
+        assertEquals(1, single.getFetchedCount());
+        assertEquals(0, single.getParsedCount());
+    }
+
+    @Test
+    public void shouldFailTranslationsSubmittedAfterShutdown() throws Exception {
+        pipeline.shutdown();
+        BlockingQueue<Future<Set<Translation>>> completions = new LinkedBlockingQueue<>();
+        Future<Set<Translation>> translation = pipeline.submit(translator, "wand", SourceLanguage.GERMAN, completions);
+
+        assertSame(translation, completions.poll(1, TimeUnit.SECONDS));
+        assertRejected(translation);
+    }
+
+    @Test
+    public void shouldFailATranslationWhoseHandOffWasInterrupted() throws Exception {
+        GatedTranslator gated = new GatedTranslator();
+        Future<Set<Translation>> parsing = pipeline.submit(gated, "a", SourceLanguage.GERMAN);
+        assertTrue(gated.parsing.await(1, TimeUnit.SECONDS));
+        Future<Set<Translation>> queued = pipeline.submit(gated, "b", SourceLanguage.GERMAN);
+        for (int i = 0; i < 1000 && pipeline.getParseQueueDepth() < 1; i++) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, pipeline.getParseQueueDepth());
+        Future<Set<Translation>> blocked = pipeline.submit(gated, "c", SourceLanguage.GERMAN);
+        for (int i = 0; i < 1000 && pipeline.getBlockedHandOffs() < 1; i++) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, pipeline.getBlockedHandOffs());
+
+        gated.fetchThreads.get("c").interrupt();
+        assertRejected(blocked);
+        gated.gate.countDown();
+        assertEquals(1, parsing.get(1, TimeUnit.SECONDS).size());
+        assertEquals(1, queued.get(1, TimeUnit.SECONDS).size());
+    }
+
+    private static void assertRejected(Future<Set<Translation>> translation) throws Exception {
+        try {
+            translation.get(1, TimeUnit.SECONDS);
+            fail("translation should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    private static class HangingTranslator implements StagedTranslator<String> {
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final AtomicInteger fetches = new AtomicInteger();
+        final AtomicInteger parses = new AtomicInteger();
+
+        @Override
+        public Either<String, Exception> fetch(String term, SourceLanguage source) {
+            fetches.incrementAndGet();
+            fetching.countDown();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Either.right((Exception) new IOException("interrupted"));
+        }
+
+        @Override
+        public Set<Translation> parse(String term, SourceLanguage source, Either<String, Exception> content) {
+            parses.incrementAndGet();
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<Translation> translate(String term, SourceLanguage source) {
+            return parse(term, source, fetch(term, source));
+        }
+
+        @Override
+        public String getProvider() {
+            return "hanging";
+        }
+    }
+
+    private static class GatedTranslator implements StagedTranslator<String> {
+        final Map<String, Thread> fetchThreads = new ConcurrentHashMap<>();
+        final CountDownLatch parsing = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public Either<String, Exception> fetch(String term, SourceLanguage source) {
+            fetchThreads.put(term, Thread.currentThread());
+            return Either.left(term);
+        }
+
+        @Override
+        public Set<Translation> parse(String term, SourceLanguage source, Either<String, Exception> content) {
+            parsing.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.singleton(new Translation(term, term));
+        }
+
+        @Override
+        public Set<Translation> translate(String term, SourceLanguage source) {
+            return parse(term, source, fetch(term, source));
+        }
+
+        @Override
+        public String getProvider() {
+            return "gated";
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package unit.de.fungate.translate.core.services.curlers;
+
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.curlers.AdaptiveTimeout;
+import de.fungate.translate.core.services.curlers.AdaptiveTimeoutCurler;
+import fj.data.Either;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveTimeoutCurlerTest {
+
+    private static final String URL = "http://www.dict.cc/?s=wand";
+
+    private long now;
+    private AdaptiveTimeout timeout;
+
+    @Before
+    public void makeTimeout() {
+        timeout = new AdaptiveTimeout(99, 2, 100, 3000, 1000, 10) {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void shouldUseTheCeilingUntilEnoughLatenciesAreKnown() {
+        record(9, 200);
+        now = 1000;
+        assertEquals(3000, timeout.getTimeoutMillis());
+        record(1, 200);
+        assertEquals(400, timeout.getTimeoutMillis());
+    }
+
+    @Test
+    public void shouldAdjustOncePerWindowWithinTheBounds() {
+        record(10, 10);
+        assertEquals(3000, timeout.getTimeoutMillis());
+        now = 1000;
+        record(1, 10);
+        assertEquals(100, timeout.getTimeoutMillis());
+
+        now = 1500;
+        record(20, 5000);
+        assertEquals(100, timeout.getTimeoutMillis());
+        now = 2000;
+        record(1, 5000);
+        assertEquals(3000, timeout.getTimeoutMillis());
+    }
+
+    @Test
+    public void shouldApplyTheTimeoutAndRecordOnlySuccessesAndTimeouts() {
+        Curler curler = mock(Curler.class);
+        when(curler.get(anyString(), anyInt())).thenReturn(Either.<String, Exception>left("<html/>"));
+        when(curler.get("http://www.dict.cc/?s=nix", 3000))
+                .thenReturn(Either.<String, Exception>right(new FileNotFoundException()));
+        when(curler.get("http://www.dict.cc/?s=slow", 3000))
+                .thenReturn(Either.<String, Exception>right(new SocketTimeoutException()));
+        AdaptiveTimeoutCurler adaptive = new AdaptiveTimeoutCurler(curler, timeout);
+
+        adaptive.get(URL);
+        verify(curler).get(URL, 3000);
+        for (int i = 0; i < 8; i++) {
+            adaptive.get("http://www.dict.cc/?s=nix");
+        }
+        now = 1000;
+        adaptive.get("http://www.dict.cc/?s=slow");
+        assertEquals(3000, timeout.getTimeoutMillis());
+        for (int i = 0; i < 8; i++) {
+            adaptive.get(URL);
+        }
+        // the 404s did not count, ten successes and timeouts did
+        assertEquals(100, timeout.getTimeoutMillis());
+    }
+
+    private void record(int times, long millis) {
+        for (int i = 0; i < times; i++) {
+            timeout.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+}
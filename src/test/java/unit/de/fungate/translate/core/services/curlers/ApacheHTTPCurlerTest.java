@@ -0,0 +1,94 @@
+package unit.de.fungate.translate.core.services.curlers;
+
+import de.fungate.translate.core.services.CancellationToken;
+import de.fungate.translate.core.services.curlers.ApacheHTTPCurler;
+import fj.data.Either;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertTrue;
+
+public class ApacheHTTPCurlerTest {
+
+    private ServerSocket server;
+    private final CountDownLatch connected = new CountDownLatch(1);
+
+    @Before
+    public void listenWithoutAnswering() throws IOException {
+        server = new ServerSocket(0);
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Socket client = server.accept();
+                    connected.countDown();
+                    // keep the connection open without ever responding
+                    client.getInputStream().read(new byte[1024]);
+                } catch (IOException ignored) {
+                    // server closed after the test
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @After
+    public void stopListening() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void shouldAbortTheRequestOnceCancelled() throws InterruptedException {
+        final String url = "http://localhost:" + server.getLocalPort() + "/";
+        final CancellationToken token = new CancellationToken();
+        final AtomicReference<Either<String, Exception>> result = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread requester = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                CancellationToken.Scope scope = token.bind();
+                try {
+                    result.set(new ApacheHTTPCurler().get(url, 10000));
+                } finally {
+                    scope.close();
+                    done.countDown();
+                }
+            }
+        });
+        requester.setDaemon(true);
+        requester.start();
+
+        assertTrue(connected.await(5, TimeUnit.SECONDS));
+        token.cancel();
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertTrue(result.get().isRight());
+        assertTrue(result.get().right().value() instanceof CancellationException);
+    }
+
+    @Test
+    public void shouldNotRequestForACancelledTranslation() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        Either<String, Exception> result;
+        CancellationToken.Scope scope = token.bind();
+        try {
+            result = new ApacheHTTPCurler().get("http://localhost:" + server.getLocalPort() + "/", 10000);
+        } finally {
+            scope.close();
+        }
+
+        assertTrue(result.right().value() instanceof CancellationException);
+        assertTrue(connected.getCount() == 1);
+    }
+}
@@ -0,0 +1,79 @@
+package unit.de.fungate.translate.core.services.curlers;
+
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.curlers.RecordingCurler;
+import de.fungate.translate.core.services.curlers.RecordingStore;
+import de.fungate.translate.core.services.curlers.ReplayCurler;
+import fj.data.Either;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RecordingCurlerTest {
+
+    private static final String URL = "http://de-en.dict.cc/?s=h%C3%A4uschen";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Curler curler;
+    private RecordingStore store;
+
+    @Before
+    public void makeStore() {
+        curler = mock(Curler.class);
+        store = new RecordingStore(folder.getRoot());
+    }
+
+    @Test
+    public void shouldReplayRecordedResponses() throws IOException {
+        when(curler.get(URL)).thenReturn(Either.<String, Exception>left("<html>Häuschen</html>"));
+        new RecordingCurler(curler, store).get(URL);
+
+        Curler replay = new ReplayCurler(store);
+        assertEquals("<html>Häuschen</html>", replay.get(URL).left().value());
+        assertEquals("<html>Häuschen</html>", IOUtils.toString(replay.getStream(URL).left().value(), "UTF-8"));
+    }
+
+    @Test
+    public void shouldRecordStreamsWithoutConsumingThem() throws IOException {
+        InputStream page = new ByteArrayInputStream("<xml/>".getBytes("UTF-8"));
+        when(curler.getStream(URL)).thenReturn(Either.<InputStream, Exception>left(page));
+
+        InputStream passed = new RecordingCurler(curler, store).getStream(URL).left().value();
+        assertEquals("<xml/>", IOUtils.toString(passed, "UTF-8"));
+        assertEquals("<xml/>", new ReplayCurler(store).get(URL).left().value());
+    }
+
+    @Test
+    public void shouldPassStreamsOnWhenTheRecordingFails() throws IOException {
+        InputStream page = new ByteArrayInputStream("<xml/>".getBytes("UTF-8"));
+        when(curler.getStream(URL)).thenReturn(Either.<InputStream, Exception>left(page));
+        RecordingStore unwritable = new RecordingStore(folder.newFile("not-a-directory"));
+
+        Either<InputStream, Exception> passed = new RecordingCurler(curler, unwritable).getStream(URL);
+        assertTrue(passed.isLeft());
+        assertEquals("<xml/>", IOUtils.toString(passed.left().value(), "UTF-8"));
+    }
+
+    @Test
+    public void shouldNotRecordFailedRequests() {
+        when(curler.get(URL)).thenReturn(Either.<String, Exception>right(new IOException("timeout")));
+        assertTrue(new RecordingCurler(curler, store).get(URL).isRight());
+
+        Either<String, Exception> replayed = new ReplayCurler(store).get(URL);
+        assertTrue(replayed.isRight());
+        assertTrue(replayed.right().value() instanceof FileNotFoundException);
+    }
+}
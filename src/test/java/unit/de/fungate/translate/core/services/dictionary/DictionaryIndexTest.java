@@ -0,0 +1,126 @@
+package unit.de.fungate.translate.core.services.dictionary;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.dictionary.DictionaryIndex;
+import de.fungate.translate.core.services.dictionary.DictionaryIndexBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.matchers.JUnitMatchers.hasItems;
+
+public class DictionaryIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private DictionaryIndexBuilder builder;
+
+    @Before
+    public void readExport() throws IOException {
+        builder = new DictionaryIndexBuilder();
+        try (Reader in = new InputStreamReader(getClass().getResourceAsStream("/dictionary/export.txt"), "UTF-8")) {
+            builder.readExport(in);
+        }
+    }
+
+    @Test
+    public void shouldLookUpBothDirections() throws IOException {
+        DictionaryIndex index = openFromFile();
+        assertEquals(8, index.size());
+
+        Set<Translation> fromGerman = index.lookup("Wand", SourceLanguage.GERMAN, 10);
+        assertThat(fromGerman, hasItems(new Translation("wall", "Wand"), new Translation("partition", "Wand")));
+        assertEquals(2, fromGerman.size());
+
+        Set<Translation> fromEnglish = index.lookup("therefore", SourceLanguage.ENGLISH, 10);
+        assertThat(fromEnglish, hasItems(new Translation("therefore", "daher"), new Translation("therefore", "deshalb")));
+        assertEquals(2, fromEnglish.size());
+    }
+
+    @Test
+    public void shouldIgnoreAnnotationsCaseAndInfinitive() throws IOException {
+        DictionaryIndex index = openFromFile();
+        assertThat(index.lookup("to wall", SourceLanguage.ENGLISH, 10), hasItems(new Translation("to wall", "ummauern")));
+        assertThat(index.lookup("wall", SourceLanguage.ENGLISH, 10), hasItems(new Translation("to wall", "ummauern")));
+        assertThat(index.lookup("HÄUSCHEN", SourceLanguage.GERMAN, 10), hasItems(new Translation("cottage", "Häuschen")));
+        assertTrue(index.lookup("Haus", SourceLanguage.GERMAN, 10).isEmpty());
+        assertTrue(index.lookup("wall", SourceLanguage.GERMAN, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldFindEveryKeyAcrossRestartPoints() throws IOException {
+        DictionaryIndexBuilder large = new DictionaryIndexBuilder();
+        for (int i = 0; i < 1000; i++) {
+            // five translations per english term, so equal keys span restart points
+            large.add("term" + letters(i / 5), "Begriff" + letters(i));
+        }
+        DictionaryIndex index = DictionaryIndex.wrap(toBytes(large));
+        for (int i = 0; i < 200; i++) {
+            assertEquals(5, index.lookup("term" + letters(i), SourceLanguage.ENGLISH, 10).size());
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1, index.lookup("Begriff" + letters(i), SourceLanguage.GERMAN, 10).size());
+        }
+        assertTrue(index.lookup("term", SourceLanguage.ENGLISH, 10).isEmpty());
+        assertTrue(index.lookup("zzz", SourceLanguage.ENGLISH, 10).isEmpty());
+        assertEquals(3, index.lookup("term" + letters(7), SourceLanguage.ENGLISH, 3).size());
+    }
+
+    @Test
+    public void shouldIterateDistinctKeysInOrder() throws IOException {
+        DictionaryIndex index = DictionaryIndex.wrap(toBytes(builder));
+        List<String> keys = new ArrayList<>();
+        for (Iterator<String> it = index.keys(SourceLanguage.GERMAN, "d"); it.hasNext(); ) {
+            keys.add(it.next());
+        }
+        assertEquals(Arrays.asList("daher", "deshalb", "häuschen", "ummauern", "wand", "wände"), keys);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectOtherFiles() throws IOException {
+        DictionaryIndex.wrap(new byte[64]);
+    }
+
+    private DictionaryIndex openFromFile() throws IOException {
+        File file = folder.newFile("index.bin");
+        try (OutputStream out = new FileOutputStream(file)) {
+            builder.write(out);
+        }
+        return DictionaryIndex.open(file);
+    }
+
+    private static byte[] toBytes(DictionaryIndexBuilder builder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        builder.write(out);
+        return out.toByteArray();
+    }
+
+    private static String letters(int i) {
+        // digits are removed from terms like in the DictccTranslator
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package unit.de.fungate.translate.core.services.dictionary;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.dictionary.DictionaryIndex;
+import de.fungate.translate.core.services.dictionary.DictionaryIndexBuilder;
+import de.fungate.translate.core.services.dictionary.LevenshteinAutomaton;
+import de.fungate.translate.core.services.dictionary.SpellCorrectingTranslator;
+import de.fungate.translate.core.services.dictionary.SpellingCorrector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SpellingCorrectorTest {
+
+    private SpellingCorrector corrector;
+
+    @Before
+    public void makeCorrector() throws IOException {
+        DictionaryIndexBuilder builder = new DictionaryIndexBuilder();
+        builder.add("wall", "Wand");
+        builder.add("change", "Wandel");
+        builder.add("tub", "Wanne");
+        builder.add("forest", "Wald");
+        builder.add("therefore", "daher");
+        builder.add("therefore", "deshalb");
+        builder.add("cottage", "Häuschen");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        builder.write(out);
+        corrector = new SpellingCorrector(DictionaryIndex.wrap(out.toByteArray()), 2);
+    }
+
+    @Test
+    public void shouldAcceptExactlyTheStringsWithinDistance() {
+        Random random = new Random(42);
+        for (boolean transpositions : new boolean[] {false, true}) {
+            LevenshteinAutomaton automaton = new LevenshteinAutomaton("wand", 2, transpositions);
+            for (int i = 0; i < 10000; i++) {
+                String s = randomString(random, "wandex", 6);
+                int expected = Math.min(distance("wand", s, transpositions), 3);
+                assertEquals(s, expected, automaton.distance(s));
+            }
+        }
+        assertEquals(1, new LevenshteinAutomaton("wand", 2, true).distance("wnad"));
+        assertEquals(2, new LevenshteinAutomaton("wand", 2, false).distance("wnad"));
+    }
+
+    @Test
+    public void shouldFindNextMatchInOrder() {
+        Random random = new Random(7);
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("abc", 1, true);
+        List<String> all = new ArrayList<>();
+        collect("", "abcd", 4, all);
+        Collections.sort(all);
+        for (int i = 0; i < 500; i++) {
+            String input = randomString(random, "abcd", 4);
+            String expected = null;
+            for (String s : all) {
+                if (s.compareTo(input) >= 0 && distance("abc", s, true) <= 1) {
+                    expected = s;
+                    break;
+                }
+            }
+            String actual = automaton.nextMatch(input);
+            // the automaton may also find smaller matches with characters outside the tested alphabet
+            assertTrue(input + " -> " + actual, actual.compareTo(input) >= 0);
+            assertTrue(input + " -> " + actual, automaton.distance(actual) <= 1);
+            assertTrue(input + " -> " + actual, expected == null || actual.compareTo(expected) <= 0);
+        }
+        assertEquals("abc", automaton.nextMatch("abc"));
+        assertNull(new LevenshteinAutomaton("", 0, true).nextMatch("a"));
+    }
+
+    @Test
+    public void shouldSuggestClosestKnownTerms() {
+        assertEquals(Arrays.asList("wand"), corrector.suggest("wnad", SourceLanguage.GERMAN, 1));
+        assertEquals(Arrays.asList("wand", "wald"), corrector.suggest("wand", SourceLanguage.GERMAN, 3));
+        assertEquals(Arrays.asList("wandel", "wanne"), corrector.suggest("wannel", SourceLanguage.GERMAN, 3));
+        assertEquals(Arrays.asList("therefore"), corrector.suggest("threfore", SourceLanguage.ENGLISH, 3));
+        assertEquals(Arrays.asList("häuschen"), corrector.suggest("Hauschen", SourceLanguage.GERMAN, 3));
+        assertTrue(corrector.suggest("xyz", SourceLanguage.GERMAN, 3).isEmpty());
+        assertTrue(corrector.suggest("wa", SourceLanguage.GERMAN, 3).isEmpty());
+        assertTrue(corrector.isKnown("Wand", SourceLanguage.GERMAN));
+        assertFalse(corrector.isKnown("Wan", SourceLanguage.GERMAN));
+    }
+
+    @Test
+    public void shouldTranslateCorrectedTerm() {
+        Translator translator = mock(Translator.class);
+        when(translator.translate("therefore", SourceLanguage.ENGLISH))
+                .thenReturn(Collections.singleton(new Translation("therefore", "daher")));
+        Translator correcting = new SpellCorrectingTranslator(translator, corrector);
+
+        assertEquals(1, correcting.translate("therfore", SourceLanguage.ENGLISH).size());
+        correcting.translate("Wand", SourceLanguage.GERMAN);
+        correcting.translate("qwertz", SourceLanguage.GERMAN);
+        verify(translator).translate("Wand", SourceLanguage.GERMAN);
+        verify(translator).translate("qwertz", SourceLanguage.GERMAN);
+    }
+
+    @Test
+    public void shouldCorrectOnlyUniqueCloseMatches() {
+        assertEquals("Häuschen", corrector.correct("Hauschen", SourceLanguage.GERMAN));
+        assertEquals("therefore", corrector.correct("therfore", SourceLanguage.ENGLISH));
+        assertNull(corrector.correct("Wand", SourceLanguage.GERMAN));
+        assertNull(corrector.correct("wane", SourceLanguage.GERMAN));
+        assertNull(corrector.correct("threfroe", SourceLanguage.ENGLISH));
+        assertNull(corrector.correct("qwertz", SourceLanguage.GERMAN));
+    }
+
+    @Test
+    public void shouldAskOnlyForTheCorrectionOfATypo() {
+        Translator translator = mock(Translator.class);
+        when(translator.translate("Häuschen", SourceLanguage.GERMAN))
+                .thenReturn(Collections.singleton(new Translation("cottage", "Häuschen")));
+        Translator correcting = new SpellCorrectingTranslator(translator, corrector);
+
+        assertEquals(1, correcting.translate("Hauschen", SourceLanguage.GERMAN).size());
+        verify(translator, times(1)).translate(anyString(), any(SourceLanguage.class));
+        verify(translator).translate("Häuschen", SourceLanguage.GERMAN);
+    }
+
+    @Test
+    public void shouldAskForTermsWithoutAUniqueCloseMatchAsEntered() {
+        Translator translator = mock(Translator.class);
+        Translator correcting = new SpellCorrectingTranslator(translator, corrector);
+        assertEquals(Arrays.asList("wand", "wanne"), corrector.suggest("wane", SourceLanguage.GERMAN, 3));
+
+        correcting.translate("wane", SourceLanguage.GERMAN);
+        correcting.translate("threfroe", SourceLanguage.ENGLISH);
+        verify(translator).translate("wane", SourceLanguage.GERMAN);
+        verify(translator).translate("threfroe", SourceLanguage.ENGLISH);
+        verify(translator, times(2)).translate(anyString(), any(SourceLanguage.class));
+    }
+
+    private static void collect(String prefix, String alphabet, int maxLength, List<String> into) {
+        into.add(prefix);
+        if (prefix.length() < maxLength) {
+            for (char c : alphabet.toCharArray()) {
+                collect(prefix + c, alphabet, maxLength, into);
+            }
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int maxLength) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    private static int distance(String a, String b, boolean transpositions) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                    continue;
+                }
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j - 1] + cost, d[i - 1][j] + 1), d[i][j - 1] + 1);
+                if (transpositions && i > 1 && j > 1
+                        && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,58 @@
+package unit.de.fungate.translate.core.services.metrics;
+
+import de.fungate.translate.core.services.metrics.Histogram;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTest {
+
+    @Test
+    public void shouldCountSmallValuesExactly() {
+        Histogram h = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            h.record(i);
+        }
+        assertEquals(100, h.getCount());
+        assertEquals(50, h.getValueAtPercentile(50));
+        assertEquals(99, h.getValueAtPercentile(99));
+        assertEquals(100, h.getValueAtPercentile(100));
+        assertEquals(50.5, h.getMean(), 1e-9);
+    }
+
+    @Test
+    public void shouldKeepRelativeErrorOfLargeValuesSmall() {
+        Histogram h = new Histogram();
+        for (long i = 1; i <= 100000; i++) {
+            h.record(i * 1000);
+        }
+        assertWithin(50000000L, h.getValueAtPercentile(50));
+        assertWithin(99000000L, h.getValueAtPercentile(99));
+        assertWithin(99900000L, h.getValueAtPercentile(99.9));
+        assertEquals(100000000L, h.getMax());
+    }
+
+    @Test
+    public void shouldHandleExtremeValues() {
+        Histogram h = new Histogram();
+        h.record(-5);
+        h.record(Long.MAX_VALUE);
+        assertEquals(0, h.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, h.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void shouldForgetValuesOnReset() {
+        Histogram h = new Histogram();
+        h.record(42);
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getValueAtPercentile(99));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " is not within 1/64 of " + expected,
+                actual >= expected && actual <= expected + expected / 64);
+    }
+}
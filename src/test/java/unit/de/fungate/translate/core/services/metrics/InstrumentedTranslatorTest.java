@@ -0,0 +1,78 @@
+package unit.de.fungate.translate.core.services.metrics;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.Translator;
+import de.fungate.translate.core.services.metrics.ProviderMetrics;
+import de.fungate.translate.core.services.metrics.TranslationMetrics;
+import de.fungate.translate.core.services.translators.DictccTranslator;
+import fj.data.Either;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InstrumentedTranslatorTest {
+
+    private static final String WAND_URL = "http://de-en.dict.cc/?s=wand";
+    private Curler curler;
+    private TranslationMetrics metrics;
+    private Translator translator;
+
+    @Before
+    public void makeTranslator() {
+        curler = mock(Curler.class);
+        metrics = new TranslationMetrics(true);
+        translator = metrics.instrument(new DictccTranslator(metrics.instrument(curler, "dict.cc")));
+    }
+
+    @Test
+    public void shouldRecordFetchAndParseSeparately() throws IOException {
+        String page = IOUtils.toString(getClass().getResourceAsStream("/dictcc/wandDE.html"), "UTF-8");
+        when(curler.get(WAND_URL)).thenReturn(Either.<String, Exception>left(page));
+        int results = translator.translate("wand", SourceLanguage.GERMAN).size();
+
+        ProviderMetrics m = metrics.forProvider("dict.cc");
+        assertEquals(1, m.getFetchNanos().getCount());
+        assertEquals(1, m.getParseNanos().getCount());
+        assertTrue(m.getBytesReceived().getMax() >= page.length());
+        assertEquals(results, m.getResultCount().getMax());
+    }
+
+    @Test
+    public void shouldRecordTheSizeOfTheEncodedPage() throws IOException {
+        String page = "<html>Stra\u00DFe \u20AC \uD83D\uDE00</html>";
+        when(curler.get(WAND_URL)).thenReturn(Either.<String, Exception>left(page));
+        translator.translate("wand", SourceLanguage.GERMAN);
+
+        assertEquals(page.getBytes("UTF-8").length, metrics.forProvider("dict.cc").getBytesReceived().getMax());
+    }
+
+    @Test
+    public void shouldNotRecordParsingOfFailedRequests() {
+        when(curler.get(WAND_URL)).thenReturn(Either.<String, Exception>right(new IOException("timeout")));
+        translator.translate("wand", SourceLanguage.GERMAN);
+
+        ProviderMetrics m = metrics.forProvider("dict.cc");
+        assertEquals(1, m.getFetchNanos().getCount());
+        assertEquals(0, m.getBytesReceived().getCount());
+        assertEquals(0, m.getParseNanos().getCount());
+    }
+
+    @Test
+    public void shouldRecordNothingWhenDisabled() {
+        metrics.setEnabled(false);
+        when(curler.get(WAND_URL)).thenReturn(Either.<String, Exception>left("<html><body></body></html>"));
+        translator.translate("wand", SourceLanguage.GERMAN);
+
+        ProviderMetrics m = metrics.forProvider("dict.cc");
+        assertEquals(0, m.getFetchNanos().getCount());
+        assertEquals(0, m.getParseNanos().getCount());
+    }
+}
@@ -0,0 +1,101 @@
+package unit.de.fungate.translate.core.services.ranking;
+
+import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.services.ranking.RankedMerger;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RankedMergerTest {
+
+    private static final Translation WALL = new Translation("wall", "Wand");
+    private static final Translation PARTITION = new Translation("partition", "Wand");
+    private static final Translation FACE = new Translation("face", "Wand");
+    private static final Translation SIDE = new Translation("side", "Wand");
+
+    private final RankedMerger merger = new RankedMerger(Collections.<String, Double>emptyMap(), 1.0, true);
+
+    @Test
+    public void shouldRankByProviderAgreement() {
+        Set<Translation> top = merger.start()
+                .add("dict.cc", Arrays.asList(PARTITION, WALL))
+                .add("leo", Arrays.asList(FACE, WALL, PARTITION))
+                .add("pons", Arrays.asList(WALL))
+                .top(10);
+
+        assertEquals(Arrays.asList(WALL, PARTITION, FACE), new ArrayList<>(top));
+    }
+
+    @Test
+    public void shouldWeighProviders() {
+        Map<String, Double> weights = new TreeMap<>();
+        weights.put("leo", 3.0);
+        RankedMerger weighted = new RankedMerger(weights, 1.0, true);
+        Set<Translation> top = weighted.start()
+                .add("dict.cc", Arrays.asList(WALL))
+                .add("pons", Arrays.asList(WALL))
+                .add("leo", Arrays.asList(FACE))
+                .top(10);
+
+        assertEquals(Arrays.asList(FACE, WALL), new ArrayList<>(top));
+    }
+
+    @Test
+    public void shouldMergeTranslationsDifferingOnlyInNormalization() {
+        RankedMerger.Merge merge = merger.start()
+                .add("dict.cc", Arrays.asList(new Translation("Wall", "Wand")))
+                .add("leo", Arrays.asList(new Translation("wall", " Wand"), FACE));
+
+        assertEquals(2, merge.size());
+        Set<Translation> top = merge.top(1);
+        assertEquals(1, top.size());
+        assertTrue(top.iterator().next().getEnglish().equalsIgnoreCase("wall"));
+    }
+
+    @Test
+    public void shouldCountAProviderOnce() {
+        Set<Translation> top = merger.start()
+                .add("dict.cc", Arrays.asList(FACE, new Translation("Face", "Wand")))
+                .add("leo", Arrays.asList(WALL))
+                .add("pons", Arrays.asList(WALL))
+                .top(10);
+
+        assertEquals(WALL, top.iterator().next());
+    }
+
+    @Test
+    public void shouldKeepOnlyTheTopK() {
+        Set<Translation> top = merger.start()
+                .add("dict.cc", Arrays.asList(WALL, PARTITION, FACE, SIDE))
+                .add("leo", Arrays.asList(SIDE, FACE))
+                .top(2);
+
+        assertEquals(2, top.size());
+        assertTrue(top.contains(SIDE));
+        assertTrue(top.contains(FACE));
+        assertEquals(0, merger.start().add("leo", Arrays.asList(WALL)).top(0).size());
+    }
+
+    @Test
+    public void shouldNotDependOnTheOrderOfTheProviders() {
+        List<Translation> first = new ArrayList<>(merger.start()
+                .add("dict.cc", Arrays.asList(WALL, PARTITION))
+                .add("leo", Arrays.asList(SIDE, FACE))
+                .top(3));
+        List<Translation> second = new ArrayList<>(merger.start()
+                .add("leo", Arrays.asList(FACE, SIDE))
+                .add("dict.cc", Arrays.asList(PARTITION, WALL))
+                .top(3));
+
+        assertEquals(first, second);
+    }
+}
@@ -0,0 +1,97 @@
+package unit.de.fungate.translate.core.services.synonymproviders;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.Curler;
+import de.fungate.translate.core.services.concurrent.Bulkhead;
+import de.fungate.translate.core.services.concurrent.BulkheadCurler;
+import de.fungate.translate.core.services.synonymproviders.AsyncSynonymProvider;
+import de.fungate.translate.core.services.synonymproviders.Woxikon;
+import fj.data.Either;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.matchers.JUnitMatchers.hasItems;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AsyncSynonymProviderTest {
+
+    private static final String ZOOM_URL = "http://synonyme.woxikon.de/synonyme-englisch/zoom.php";
+    private static final String SLOW_URL = "http://synonyme.woxikon.de/synonyme-englisch/slow.php";
+
+    private final CountDownLatch requested = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Curler curler;
+    private ExecutorService executor;
+
+    @Before
+    public void makeCurler() throws IOException {
+        curler = mock(Curler.class);
+        String page = IOUtils.toString(getClass().getResourceAsStream("/woxikon/zoom.html"), "UTF-8");
+        when(curler.get(anyString())).thenReturn(Either.<String, Exception>left("<html></html>"));
+        when(curler.get(ZOOM_URL)).thenReturn(Either.<String, Exception>left(page));
+        when(curler.get(SLOW_URL)).thenAnswer(new Answer<Either<String, Exception>>() {
+            @Override
+            public Either<String, Exception> answer(InvocationOnMock invocation) throws InterruptedException {
+                requested.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return Either.left("<html></html>");
+            }
+        });
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldLookUpManyTermsWithinTimeout() {
+        AsyncSynonymProvider provider = new AsyncSynonymProvider(new Woxikon(curler), executor);
+        Map<String, Set<String>> synonyms = provider.getSynonyms(
+                Arrays.asList("zoom", "slow", "other", "zoom"), SourceLanguage.ENGLISH, 200);
+
+        assertEquals(Arrays.asList("zoom", "slow", "other"), Arrays.asList(synonyms.keySet().toArray()));
+        assertThat(synonyms.get("zoom"), hasItems("whir", "ascend"));
+        assertTrue(synonyms.get("slow").isEmpty());
+        assertTrue(synonyms.get("other").isEmpty());
+    }
+
+    @Test
+    public void shouldShareTheBulkheadOfTheCurler() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("woxikon", 1, 0, 0);
+        AsyncSynonymProvider provider = new AsyncSynonymProvider(
+                new Woxikon(new BulkheadCurler(curler, bulkhead)), executor);
+        Future<Set<String>> slow = provider.getSynonymsAsync("slow", SourceLanguage.ENGLISH);
+        assertTrue(requested.await(1, TimeUnit.SECONDS));
+
+        assertTrue(provider.getSynonymsAsync("zoom", SourceLanguage.ENGLISH).get(1, TimeUnit.SECONDS).isEmpty());
+        assertEquals(1, bulkhead.getRejectedCount());
+        release.countDown();
+        // the slot is released before the slow lookup completes
+        slow.get(1, TimeUnit.SECONDS);
+        assertEquals(0, bulkhead.getActiveCount());
+        assertThat(provider.getSynonymsAsync("zoom", SourceLanguage.ENGLISH).get(1, TimeUnit.SECONDS),
+                hasItems("whir", "ascend"));
+    }
+}
@@ -0,0 +1,84 @@
+package unit.de.fungate.translate.core.services.synonymproviders;
+
+import de.fungate.translate.core.models.SourceLanguage;
+import de.fungate.translate.core.services.SynonymProvider;
+import de.fungate.translate.core.services.synonymproviders.CachingSynonymProvider;
+import de.fungate.translate.core.services.synonymproviders.SynonymGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingSynonymProviderTest {
+
+    private SynonymProvider provider;
+    private SynonymGraph graph;
+    private CachingSynonymProvider cache;
+
+    @Before
+    public void makeCache() {
+        provider = mock(SynonymProvider.class);
+        graph = new SynonymGraph(100);
+        cache = new CachingSynonymProvider(provider, graph, 1);
+        when(provider.getSynonyms(anyString(), eq(SourceLanguage.ENGLISH))).thenReturn(Collections.<String>emptySet());
+        when(provider.getSynonyms("zoom", SourceLanguage.ENGLISH)).thenReturn(set("ascend", "whir", "speed"));
+        when(provider.getSynonyms("speed", SourceLanguage.ENGLISH)).thenReturn(set("zoom", "pace", "velocity"));
+    }
+
+    @Test
+    public void shouldAnswerRepeatAndReverseLookupsLocally() {
+        assertEquals(set("ascend", "whir", "speed"), cache.getSynonyms("zoom", SourceLanguage.ENGLISH));
+        assertEquals(set("ascend", "whir", "speed"), cache.getSynonyms("Zoom", SourceLanguage.ENGLISH));
+        assertEquals(set("zoom"), cache.getSynonyms("ascend", SourceLanguage.ENGLISH));
+        verify(provider, times(1)).getSynonyms(anyString(), eq(SourceLanguage.ENGLISH));
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldExpandTransitivelyClosestFirst() {
+        cache.getSynonyms("speed", SourceLanguage.ENGLISH);
+        Set<String> expanded = cache.expand("zoom", SourceLanguage.ENGLISH, 2, 10);
+
+        assertEquals(set("ascend", "whir", "speed", "pace", "velocity"), expanded);
+        List<String> ordered = new ArrayList<>(expanded);
+        assertEquals(set("ascend", "whir", "speed"), new HashSet<>(ordered.subList(0, 3)));
+        assertEquals(set("pace", "velocity"), new HashSet<>(ordered.subList(3, 5)));
+        assertEquals(3, graph.expand("zoom", SourceLanguage.ENGLISH, 1, 10).size());
+        assertEquals(2, graph.expand("zoom", SourceLanguage.ENGLISH, 2, 2).size());
+        assertTrue(graph.expand("zoom", SourceLanguage.GERMAN, 2, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldNotCacheEmptyResults() {
+        cache.getSynonyms("xyz", SourceLanguage.ENGLISH);
+        cache.getSynonyms("xyz", SourceLanguage.ENGLISH);
+        verify(provider, times(2)).getSynonyms("xyz", SourceLanguage.ENGLISH);
+    }
+
+    @Test
+    public void shouldStartOverWhenFull() {
+        SynonymGraph small = new SynonymGraph(5);
+        small.addSynonyms("zoom", set("ascend", "whir", "speed"), SourceLanguage.ENGLISH);
+        small.addSynonyms("speed", set("pace", "velocity"), SourceLanguage.ENGLISH);
+        assertEquals(3, small.size(SourceLanguage.ENGLISH));
+        assertTrue(small.getSynonyms("zoom", SourceLanguage.ENGLISH).isEmpty());
+    }
+
+    private static Set<String> set(String... terms) {
+        return new HashSet<>(Arrays.asList(terms));
+    }
+}
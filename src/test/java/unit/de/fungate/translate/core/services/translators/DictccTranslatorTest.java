@@ -7,6 +7,8 @@ import static org.mockito.Mockito.when;
 
 import de.fungate.translate.core.models.SourceLanguage;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
+import de.fungate.translate.core.services.CancellationToken;
 import de.fungate.translate.core.services.Curler;
 import fj.data.Either;
 import org.apache.commons.io.IOUtils;
@@ -19,6 +21,8 @@ import de.fungate.translate.core.services.translators.DictccTranslator;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 public class DictccTranslatorTest {
 
@@ -80,6 +84,39 @@ public class DictccTranslatorTest {
         ));
     }
 
+    @Test
+    public void shouldStopExtractingAtMaxResults() throws IOException {
+        map("wand", SourceLanguage.GERMAN);
+        Set<Translation> limited = new DictccTranslator(curler).translate("wand", SourceLanguage.GERMAN, 3);
+        assertEquals(3, limited.size());
+        assertTrue(translator.translate("wand", SourceLanguage.GERMAN).containsAll(limited));
+    }
+
+    @Test(expected = CancellationException.class)
+    public void shouldGiveUpParsingOnceCancelled() throws IOException {
+        map("wand", SourceLanguage.GERMAN);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        CancellationToken.Scope scope = token.bind();
+        try {
+            translator.translate("wand", SourceLanguage.GERMAN);
+        } finally {
+            scope.close();
+        }
+    }
+
+    @Test
+    public void shouldFailOnATruncatedPage() {
+        Set<Translation> truncated = new DictccTranslator(curler).parse("wand", SourceLanguage.GERMAN,
+                Either.<String, Exception>left("<html><body><table><tr id=\"tr1\">"));
+        Set<Translation> complete = new DictccTranslator(curler).parse("wnad", SourceLanguage.GERMAN,
+                Either.<String, Exception>left("<html><body></body></html>"));
+
+        assertTrue(TranslationSet.isFailed(truncated));
+        assertTrue(complete.isEmpty());
+        assertFalse(TranslationSet.isFailed(complete));
+    }
+
     private Iterable<Translation> english(String term) {
         return translator.translate(term, SourceLanguage.ENGLISH);
     }
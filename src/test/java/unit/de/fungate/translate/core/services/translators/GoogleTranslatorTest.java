@@ -5,6 +5,7 @@ import de.fungate.translate.core.services.Curler;
 import de.fungate.translate.core.services.Translator;
 import de.fungate.translate.core.services.translators.GoogleTranslator;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
 import fj.data.Either;
 
 import org.apache.commons.io.IOUtils;
@@ -13,8 +14,10 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.net.URLEncoder;
+import java.util.Set;
 
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.matchers.JUnitMatchers.hasItems;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -69,6 +72,14 @@ public class GoogleTranslatorTest {
 		return translator.translate(term, SourceLanguage.ENGLISH);
 	}
 
+	@Test
+	public void shouldFailOnATruncatedResponse() {
+		Set<Translation> translations = new GoogleTranslator(curler).parse("Wand", SourceLanguage.GERMAN,
+				Either.<String, Exception> left("[[[\"wall\",\"wand\""));
+
+		assertTrue(TranslationSet.isFailed(translations));
+	}
+
 	private Iterable<Translation> german(String term) {
 		return translator.translate(term, SourceLanguage.GERMAN);
 	}
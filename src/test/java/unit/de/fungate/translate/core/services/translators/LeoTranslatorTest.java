@@ -13,8 +13,11 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.matchers.JUnitMatchers.hasItems;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -76,6 +79,15 @@ public class LeoTranslatorTest {
         ));
     }
 
+    @Test
+    public void shouldAskLeoForNoMoreThanMaxResults() throws IOException {
+        when(curler.getStream(translator.buildURL("therefore", SourceLanguage.ENGLISH, 2)))
+                .thenReturn(Either.<InputStream, Exception>left(readResource("therefore.xml")));
+        Set<Translation> limited = translator.translate("therefore", SourceLanguage.ENGLISH, 2);
+        assertTrue(translator.buildURL("therefore", SourceLanguage.ENGLISH, 2).endsWith("&sectLenMax=2"));
+        assertEquals(2, limited.size());
+    }
+
     private Iterable<Translation> english(String term) {
         return translator.translate(term, SourceLanguage.ENGLISH);
     }
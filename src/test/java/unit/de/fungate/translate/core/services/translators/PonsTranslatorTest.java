@@ -7,6 +7,7 @@ import static org.mockito.Mockito.when;
 import de.fungate.translate.core.models.SourceLanguage;
 import de.fungate.translate.core.services.translators.PonsTranslator;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
 import de.fungate.translate.core.services.Curler;
 import fj.data.Either;
 
@@ -16,6 +17,7 @@ import org.junit.Test;
 
 
 import java.io.IOException;
+import java.util.Set;
 
 public class PonsTranslatorTest {
 	
@@ -70,6 +72,14 @@ public class PonsTranslatorTest {
     }
 	
 	
+    @Test
+    public void shouldFailOnATruncatedPage() {
+        Set<Translation> translations = translator.parse("Wand", SourceLanguage.GERMAN,
+                Either.<String, Exception>left("<html><body><div class=\"results\">"));
+
+        assertTrue(TranslationSet.isFailed(translations));
+    }
+
 	private Iterable<Translation> english(String term) {
         return translator.translate(term, SourceLanguage.ENGLISH);
     }
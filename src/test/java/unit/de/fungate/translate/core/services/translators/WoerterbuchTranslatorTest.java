@@ -5,14 +5,17 @@ import de.fungate.translate.core.services.Curler;
 import de.fungate.translate.core.services.Translator;
 import de.fungate.translate.core.services.translators.WoerterbuchTranslator;
 import de.fungate.translate.core.models.Translation;
+import de.fungate.translate.core.models.TranslationSet;
 import fj.data.Either;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Set;
 
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.matchers.JUnitMatchers.hasItems;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -68,6 +71,14 @@ public class WoerterbuchTranslatorTest {
         ));
     }
 
+    @Test
+    public void shouldFailOnATruncatedPage() {
+        Set<Translation> translations = new WoerterbuchTranslator(curler).parse("Wand", SourceLanguage.GERMAN,
+                Either.<String, Exception>left("<html><body><table><table><tr>"));
+
+        assertTrue(TranslationSet.isFailed(translations));
+    }
+
     private Iterable<Translation> english(String term) {
         return translator.translate(term, SourceLanguage.ENGLISH);
     }